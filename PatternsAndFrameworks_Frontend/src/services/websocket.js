@@ -35,12 +35,30 @@ export const wsState = {
   notifications: ref([]),
   systemNotifications: ref([]),
   taskUpdates: ref([]),
-  queueUpdates: ref([])
+  queueUpdates: ref([]),
+  unreadCount: ref(0)
+};
+
+// Last notification ID seen per user (0 = system), sent on subscribe to receive only newer notifications
+const syncState = {
+  userId: null,
+  lastSeenIds: {}
+};
+
+// Tasks and queues whose events this client wants besides those of its own user's tasks.
+// Each one is subscribed on its own topic, so the broker delivers only these events to this
+// client, also when they are produced on another backend node
+const interestState = {
+  enabled: false,
+  taskIds: [],
+  queueIds: []
 };
 
 // Create a STOMP client
 let stompClient = null;
 let wsSubscriptions = {};
+// Subscriptions of the declared interest by destination
+let interestSubscriptions = new Map();
 
 export const initializeWebSocket = (userId) => {
   if (stompClient) {
@@ -79,40 +97,50 @@ export const initializeWebSocket = (userId) => {
       wsSubscriptions.systemTopic = stompClient.subscribe('/topic/system', onSystemNotification);
       wsSubscriptions.broadcastTopic = stompClient.subscribe('/topic/notifications', onBroadcastNotification);
       
-      // Subscribe to task updates
-      wsSubscriptions.taskStatusTopic = stompClient.subscribe('/topic/tasks/status', onTaskStatusUpdate);
-      wsSubscriptions.taskResultsTopic = stompClient.subscribe('/topic/tasks/results', onTaskResultUpdate);
-      
-      // Subscribe to queue updates
-      wsSubscriptions.queuesTopic = stompClient.subscribe('/topic/queues', onQueueUpdate);
+      if (userId) {
+        // Task and queue updates for this client only: the user's own tasks plus the declared interest
+        wsSubscriptions.ownTaskStatusTopic = stompClient.subscribe(`/topic/users/${userId}/tasks/status`, onTaskStatusUpdate);
+        wsSubscriptions.ownTaskResultsTopic = stompClient.subscribe(`/topic/users/${userId}/tasks/results`, onTaskResultUpdate);
+        interestState.enabled = true;
+        // Subscriptions do not survive a reconnect
+        interestSubscriptions = new Map();
+        syncInterest();
+      } else {
+        interestState.enabled = false;
+        // Without a user there is nothing to filter by, so follow all task and queue updates
+        wsSubscriptions.taskStatusTopic = stompClient.subscribe('/topic/tasks/status', onTaskStatusUpdate);
+        wsSubscriptions.taskResultsTopic = stompClient.subscribe('/topic/tasks/results', onTaskResultUpdate);
+        wsSubscriptions.queuesTopic = stompClient.subscribe('/topic/queues', onQueueUpdate);
+      }
       
       // Subscribe to user-specific notifications
       if (userId) {
         wsSubscriptions.userQueue = stompClient.subscribe(`/user/queue/notifications`, onUserNotification);
+        wsSubscriptions.syncQueue = stompClient.subscribe(`/user/queue/notifications.sync`, onNotificationSync);
+        wsSubscriptions.unreadQueue = stompClient.subscribe(`/user/queue/notifications.unread`, onUnreadCount);
+        wsSubscriptions.statusQueue = stompClient.subscribe(`/user/queue/notifications.status`, onNotificationStatusChange);
         
-        // Clear existing notifications before fetching new ones to prevent duplicates
-        wsState.systemNotifications.value = [];
-        wsState.notifications.value = [];
+        // Start over when a different user connects; on a reconnect of the same user only
+        // notifications after the last seen ones are fetched
+        if (syncState.userId !== userId) {
+          syncState.userId = userId;
+          syncState.lastSeenIds = {};
+          wsState.systemNotifications.value = [];
+          wsState.notifications.value = [];
+        }
         
         // IMPORTANT: First subscribe to system notifications (userId=0)
         // This ensures we get all DEADLOCK_DETECTED and other system notifications
         console.log("Requesting system notifications (userId=0)");
-        stompClient.publish({
-          destination: '/app/notifications.subscribe',
-          body: JSON.stringify({ userId: 0 })
-        });
+        requestNotificationSync(0);
         
-        // Then send message to get existing unread notifications for the user
+        // Then request the notifications of the user
         console.log(`Requesting user notifications for userId=${userId}`);
-        stompClient.publish({
-          destination: '/app/notifications.subscribe',
-          body: JSON.stringify({ userId })
-        });
+        requestNotificationSync(userId);
         
         // Subscribe to user-specific task updates
         wsSubscriptions.userTasksTopic = stompClient.subscribe(`/user/${userId}/tasks`, onUserTaskUpdate);
         wsSubscriptions.userTaskResultsTopic = stompClient.subscribe(`/user/${userId}/task-results`, onUserTaskResultUpdate);
-        wsSubscriptions.taskProgressTopic = stompClient.subscribe('/topic/tasks/progress', onTaskProgressUpdate);
       }
     },
     onDisconnect: () => {
@@ -146,6 +174,8 @@ export const disconnectWebSocket = () => {
       });
       
       wsSubscriptions = {};
+      interestSubscriptions.forEach(subscription => subscription.unsubscribe());
+      interestSubscriptions = new Map();
       stompClient.deactivate();
     } catch (e) {
       console.warn('Error during WebSocket disconnection:', e);
@@ -157,6 +187,57 @@ export const disconnectWebSocket = () => {
   }
 };
 
+// Subscribes to the topics of newly declared tasks and queues and unsubscribes from those no longer declared
+const syncInterest = () => {
+  if (!stompClient || !stompClient.connected || !interestState.enabled) {
+    return;
+  }
+  const wanted = new Map();
+  interestState.taskIds.forEach(taskId => {
+    wanted.set(`/topic/tasks/${taskId}/status`, onTaskStatusUpdate);
+    wanted.set(`/topic/tasks/${taskId}/result`, onTaskResultUpdate);
+    wanted.set(`/topic/tasks/${taskId}/progress`, onTaskProgressUpdate);
+  });
+  interestState.queueIds.forEach(queueId => {
+    wanted.set(`/topic/queues/${queueId}`, onQueueUpdate);
+  });
+  interestSubscriptions.forEach((subscription, destination) => {
+    if (!wanted.has(destination)) {
+      subscription.unsubscribe();
+      interestSubscriptions.delete(destination);
+    }
+  });
+  wanted.forEach((handler, destination) => {
+    if (!interestSubscriptions.has(destination)) {
+      interestSubscriptions.set(destination, stompClient.subscribe(destination, handler));
+    }
+  });
+};
+
+// Declares the tasks whose status, result and progress updates this client wants (in addition to the user's own)
+export const setTaskInterest = (taskIds) => {
+  interestState.taskIds = [...new Set(taskIds)];
+  syncInterest();
+};
+
+// Declares the queues whose updates this client wants
+export const setQueueInterest = (queueIds) => {
+  interestState.queueIds = [...new Set(queueIds)];
+  syncInterest();
+};
+
+export const markAllNotificationsAsRead = (userId) => {
+  // Local state is updated by the status event the backend sends back
+  if (stompClient && stompClient.connected) {
+    stompClient.publish({
+      destination: '/app/notifications.markReadBulk',
+      body: JSON.stringify({ userId, all: true })
+    });
+    return true;
+  }
+  return false;
+};
+
 export const markNotificationAsRead = (notificationId, userId) => {
   // First update local state for immediate feedback
   // Find the notification in both notification arrays and update UI
@@ -259,132 +340,142 @@ export const broadcastNotification = (message, type = 'BROADCAST', urgency = 'NO
 // Notification handlers
 const onSystemNotification = (message) => {
   try {
-    const notificationData = JSON.parse(message.body);
-    
-    // Create a copy to avoid modifying the original
-    const notification = { ...notificationData };
-    
-    // BACKWARDS COMPATIBILITY: Handle old NotificationPayload format if it comes through
-    // This can be removed once the backend is fully migrated to NotificationDTO
-    if (notification.notificationId !== undefined && notification.id === undefined) {
-      notification.id = notification.notificationId;
-      console.log(`Legacy format detected: mapped notificationId to id`);
-    }
-    
-    if (notification.taskId !== undefined && notification.relatedTaskId === undefined) {
-      notification.relatedTaskId = notification.taskId;
-      console.log(`Legacy format detected: mapped taskId to relatedTaskId`);
-    }
-    
-    // Ensure userId=0 is set for system notifications
-    if (!notification.userId) {
-      notification.userId = 0;
-    }
-    
-    // Ensure timestamp exists
-    if (!notification.timestamp) {
-      notification.timestamp = new Date().toISOString();
-    }
-    
-    // Make sure read status is properly set as a boolean
-    if (notification.status === 'READ' || notification.status === 'ARCHIVED') {
-      notification.read = true;
-    } else {
-      notification.read = !!notification.read; // Convert to boolean
-    }
-    
-    // For deadlock notifications, ensure HIGH urgency
-    if (notification.type === 'DEADLOCK_DETECTED' && (!notification.urgency || notification.urgency !== 'HIGH')) {
-      notification.urgency = 'HIGH';
-    }
-    
-    // Check if we already have this notification
-    const existingIndex = wsState.systemNotifications.value.findIndex(n => n.id === notification.id);
-    
-    if (existingIndex >= 0) {
-      // Update existing notification
-      wsState.systemNotifications.value[existingIndex] = notification;
-    } else {
-      // Add new notification
-      wsState.systemNotifications.value.unshift(notification);
-    }
-    
-    // Also update the notification store directly if available
-    try {
-      const { useNotificationStore } = require('@/stores/notification');
-      const notificationStore = useNotificationStore();
-      if (notificationStore) {
-        notificationStore.addWebSocketNotification(notification);
-      }
-    } catch (storeError) {
-      // Store might not be available in this context, which is fine
-    }
-    
-    console.log('System notification received', notification);
+    const payload = JSON.parse(message.body);
+    // The backend sends batches of notifications as arrays
+    const items = Array.isArray(payload) ? payload : [payload];
+    items.forEach(addSystemNotification);
   } catch (error) {
     console.error('Error parsing system notification', error);
   }
 };
 
-const onBroadcastNotification = (message) => {
+const addSystemNotification = (notificationData) => {
+  // Create a copy to avoid modifying the original
+  const notification = { ...notificationData };
+  
+  // BACKWARDS COMPATIBILITY: Handle old NotificationPayload format if it comes through
+  // This can be removed once the backend is fully migrated to NotificationDTO
+  if (notification.notificationId !== undefined && notification.id === undefined) {
+    notification.id = notification.notificationId;
+    console.log(`Legacy format detected: mapped notificationId to id`);
+  }
+  
+  if (notification.taskId !== undefined && notification.relatedTaskId === undefined) {
+    notification.relatedTaskId = notification.taskId;
+    console.log(`Legacy format detected: mapped taskId to relatedTaskId`);
+  }
+  
+  // Ensure userId=0 is set for system notifications
+  if (!notification.userId) {
+    notification.userId = 0;
+  }
+  
+  // Ensure timestamp exists
+  if (!notification.timestamp) {
+    notification.timestamp = new Date().toISOString();
+  }
+  
+  // Make sure read status is properly set as a boolean
+  if (notification.status === 'READ' || notification.status === 'ARCHIVED') {
+    notification.read = true;
+  } else {
+    notification.read = !!notification.read; // Convert to boolean
+  }
+  
+  // For deadlock notifications, ensure HIGH urgency
+  if (notification.type === 'DEADLOCK_DETECTED' && (!notification.urgency || notification.urgency !== 'HIGH')) {
+    notification.urgency = 'HIGH';
+  }
+  
+  // Check if we already have this notification
+  const existingIndex = wsState.systemNotifications.value.findIndex(n => n.id === notification.id);
+  
+  if (existingIndex >= 0) {
+    // Update existing notification
+    wsState.systemNotifications.value[existingIndex] = notification;
+  } else {
+    // Add new notification
+    wsState.systemNotifications.value.unshift(notification);
+  }
+  
+  // Also update the notification store directly if available
   try {
-    const notificationData = JSON.parse(message.body);
-    
-    // Create a copy to avoid modifying the original
-    const notification = { ...notificationData };
-    
-    // BACKWARDS COMPATIBILITY: Handle old NotificationPayload format if it comes through
-    // This can be removed once the backend is fully migrated to NotificationDTO
-    if (notification.notificationId !== undefined && notification.id === undefined) {
-      notification.id = notification.notificationId;
-      console.log(`Legacy format detected: mapped notificationId to id`);
-    }
-    
-    if (notification.taskId !== undefined && notification.relatedTaskId === undefined) {
-      notification.relatedTaskId = notification.taskId;
-      console.log(`Legacy format detected: mapped taskId to relatedTaskId`);
-    }
-    
-    // Ensure timestamp exists
-    if (!notification.timestamp) {
-      notification.timestamp = new Date().toISOString();
-    }
-    
-    // Make sure read status is properly set as a boolean
-    if (notification.status === 'READ' || notification.status === 'ARCHIVED') {
-      notification.read = true;
-    } else {
-      notification.read = !!notification.read; // Convert to boolean
-    }
-    
-    // Check if we already have this notification
-    const existingIndex = wsState.notifications.value.findIndex(n => n.id === notification.id);
-    
-    if (existingIndex >= 0) {
-      // Update existing notification
-      wsState.notifications.value[existingIndex] = notification;
-    } else {
-      // Add new notification
-      wsState.notifications.value.unshift(notification);
-    }
-    
-    // Also update the notification store directly if available
-    try {
-      const { useNotificationStore } = require('@/stores/notification');
-      const notificationStore = useNotificationStore();
-      if (notificationStore) {
-        notificationStore.addWebSocketNotification(notification);
-      }
-    } catch (storeError) {
-      // Store might not be available in this context, which is fine
+    const { useNotificationStore } = require('@/stores/notification');
+    const notificationStore = useNotificationStore();
+    if (notificationStore) {
+      notificationStore.addWebSocketNotification(notification);
     }
-    
-    console.log('Broadcast notification received', notification);
+  } catch (storeError) {
+    // Store might not be available in this context, which is fine
+  }
+  
+  console.log('System notification received', notification);
+};
+
+const onBroadcastNotification = (message) => {
+  try {
+    const payload = JSON.parse(message.body);
+    // The backend sends batches of notifications as arrays
+    const items = Array.isArray(payload) ? payload : [payload];
+    items.forEach(addBroadcastNotification);
   } catch (error) {
     console.error('Error parsing broadcast notification', error);
   }
 };
 
+const addBroadcastNotification = (notificationData) => {
+  // Create a copy to avoid modifying the original
+  const notification = { ...notificationData };
+  
+  // BACKWARDS COMPATIBILITY: Handle old NotificationPayload format if it comes through
+  // This can be removed once the backend is fully migrated to NotificationDTO
+  if (notification.notificationId !== undefined && notification.id === undefined) {
+    notification.id = notification.notificationId;
+    console.log(`Legacy format detected: mapped notificationId to id`);
+  }
+  
+  if (notification.taskId !== undefined && notification.relatedTaskId === undefined) {
+    notification.relatedTaskId = notification.taskId;
+    console.log(`Legacy format detected: mapped taskId to relatedTaskId`);
+  }
+  
+  // Ensure timestamp exists
+  if (!notification.timestamp) {
+    notification.timestamp = new Date().toISOString();
+  }
+  
+  // Make sure read status is properly set as a boolean
+  if (notification.status === 'READ' || notification.status === 'ARCHIVED') {
+    notification.read = true;
+  } else {
+    notification.read = !!notification.read; // Convert to boolean
+  }
+  
+  // Check if we already have this notification
+  const existingIndex = wsState.notifications.value.findIndex(n => n.id === notification.id);
+  
+  if (existingIndex >= 0) {
+    // Update existing notification
+    wsState.notifications.value[existingIndex] = notification;
+  } else {
+    // Add new notification
+    wsState.notifications.value.unshift(notification);
+  }
+  
+  // Also update the notification store directly if available
+  try {
+    const { useNotificationStore } = require('@/stores/notification');
+    const notificationStore = useNotificationStore();
+    if (notificationStore) {
+      notificationStore.addWebSocketNotification(notification);
+    }
+  } catch (storeError) {
+    // Store might not be available in this context, which is fine
+  }
+  
+  console.log('Broadcast notification received', notification);
+};
+
 const onUserNotification = (message) => {
   try {
     const notificationData = JSON.parse(message.body);
@@ -524,6 +615,65 @@ const onUserNotification = (message) => {
   }
 };
 
+const requestNotificationSync = (userId) => {
+  const request = { userId };
+  if (syncState.lastSeenIds[userId] !== undefined) {
+    request.lastSeenId = syncState.lastSeenIds[userId];
+  }
+  stompClient.publish({
+    destination: '/app/notifications.subscribe',
+    body: JSON.stringify(request)
+  });
+};
+
+const onNotificationSync = (message) => {
+  try {
+    const sync = JSON.parse(message.body);
+    syncState.lastSeenIds[sync.userId] = sync.lastSeenId;
+    if (sync.userId === syncState.userId) {
+      wsState.unreadCount.value = sync.unreadCount;
+    }
+    if (sync.notifications.length > 0) {
+      onUserNotification({ body: JSON.stringify(sync.notifications) });
+    }
+    // Fetch the rest if more notifications arrived than fit into one response
+    if (sync.hasMore) {
+      requestNotificationSync(sync.userId);
+    }
+  } catch (error) {
+    console.error('Error parsing notification sync', error);
+  }
+};
+
+const onUnreadCount = (message) => {
+  try {
+    const update = JSON.parse(message.body);
+    if (update.userId === syncState.userId) {
+      wsState.unreadCount.value = update.unreadCount;
+    }
+  } catch (error) {
+    console.error('Error parsing unread count', error);
+  }
+};
+
+const onNotificationStatusChange = (message) => {
+  try {
+    const change = JSON.parse(message.body);
+    // notificationIds is null when all matching notifications of the user changed
+    const ids = change.notificationIds ? new Set(change.notificationIds) : null;
+    const applies = (n) => n.userId === change.userId && (ids ? ids.has(n.id) :
+      (change.status === 'READ' ? !n.read : n.status === 'READ'));
+    [wsState.notifications.value, wsState.systemNotifications.value].forEach(list => {
+      list.filter(applies).forEach(n => {
+        n.status = change.status;
+        n.read = true;
+      });
+    });
+  } catch (error) {
+    console.error('Error parsing notification status change', error);
+  }
+};
+
 // Task and Queue update handlers
 const onTaskStatusUpdate = (message) => {
   try {
@@ -640,5 +790,7 @@ export default {
   markNotificationAsRead,
   broadcastNotification,
   checkConnectionStatus,
+  setTaskInterest,
+  setQueueInterest,
   wsState
 };
\ No newline at end of file
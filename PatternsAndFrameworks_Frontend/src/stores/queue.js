@@ -1,7 +1,7 @@
 import { defineStore } from 'pinia';
 import { ref, computed, onMounted, onUnmounted } from 'vue';
 import { queueService } from '@/services/api';
-import { initializeWebSocket, disconnectWebSocket } from '@/services/websocket';
+import { initializeWebSocket, disconnectWebSocket, setQueueInterest, setTaskInterest } from '@/services/websocket';
 
 export const useQueueStore = defineStore('queue', () => {
   const queues = ref([]);
@@ -84,6 +84,7 @@ export const useQueueStore = defineStore('queue', () => {
     try {
       const response = await queueService.getAllQueues();
       queues.value = response.data;
+      setQueueInterest(response.data.map(queue => queue.id));
       return response.data;
     } catch (err) {
       console.error('Error fetching queues:', err);
@@ -100,6 +101,7 @@ export const useQueueStore = defineStore('queue', () => {
     try {
       const response = await queueService.getQueueById(queueId);
       currentQueue.value = response.data;
+      setTaskInterest((response.data.tasks || []).map(task => task.id));
       
       // Also fetch completed tasks for this queue
       await fetchCompletedTasks(queueId);
@@ -0,0 +1,63 @@
+package de.vfh.paf.tasklist.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the sort key and ID of the last returned row.
+ * Clients receive it as an opaque token and pass it back unchanged to fetch the next page,
+ * so the database can seek directly to the next row via an index instead of skipping an offset.
+ *
+ * @param sortKey The sort column value of the last row (due date for tasks, creation time for notifications),
+ *                or null for lists ordered by ID only (users)
+ * @param id      The ID of the last row, used as tie breaker
+ */
+public record KeysetCursor(LocalDateTime sortKey, int id) {
+
+    /**
+     * Returns the sort key of a cursor passed to a list ordered by a sort column.
+     *
+     * @return The sort key
+     * @throws IllegalArgumentException If the cursor belongs to a list ordered by ID only
+     */
+    public LocalDateTime requireSortKey() {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Cursor without sort key");
+        }
+        return sortKey;
+    }
+
+    /**
+     * Encodes the cursor as an opaque, URL-safe token.
+     *
+     * @return The encoded cursor
+     */
+    public String encode() {
+        String raw = (sortKey != null ? sortKey.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The encoded cursor
+     * @return The decoded cursor
+     * @throws IllegalArgumentException If the token is not a valid cursor
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            String sortKey = raw.substring(0, separator);
+            return new KeysetCursor(sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey),
+                    Integer.parseInt(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
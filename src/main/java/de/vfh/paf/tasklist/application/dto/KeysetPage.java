@@ -0,0 +1,41 @@
+package de.vfh.paf.tasklist.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ * The REST API returns the items as the response body and the next cursor in the
+ * {@value #NEXT_CURSOR_HEADER} header, so paginated responses keep the plain array shape.
+ *
+ * @param items      The items on this page
+ * @param nextCursor The cursor for the next page, or null if this is the last page
+ * @param <T>        The item type
+ */
+public record KeysetPage<T>(List<T> items, KeysetCursor nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Normalizes a requested page size.
+     *
+     * @param limit The requested page size (may be null)
+     * @return The page size to use, between 1 and {@value #MAX_LIMIT}
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Returns the encoded next cursor.
+     *
+     * @return The opaque next cursor token, or null if this is the last page
+     */
+    public String nextToken() {
+        return nextCursor != null ? nextCursor.encode() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package de.vfh.paf.tasklist.application.dto;
+
+import java.util.List;
+
+/**
+ * WebSocket event for a bulk status change of a user's notifications.
+ * One event is sent per bulk operation instead of one message per notification.
+ *
+ * @param userId          The user whose notifications changed
+ * @param status          The new status of the notifications
+ * @param notificationIds The changed notification IDs, or null if all matching notifications of the user changed
+ * @param count           The number of notifications that changed
+ */
+public record NotificationStatusChangeDTO(int userId, String status, List<Integer> notificationIds, int count) {
+}
@@ -0,0 +1,34 @@
+package de.vfh.paf.tasklist.application.dto;
+
+import java.util.List;
+
+/**
+ * Response to a notification subscribe over WebSocket.
+ * Carries only the notifications the client has not seen yet, plus the current unread count, so a
+ * reconnecting client does not have to reload its whole notification history.
+ *
+ * @param userId        The user the notifications belong to
+ * @param notifications The notifications after the client's last-seen ID, oldest first
+ * @param lastSeenId    The ID to send with the next subscribe (unchanged if there is nothing new)
+ * @param unreadCount   The number of unread notifications of the user
+ * @param hasMore       Whether more new notifications are available after {@code lastSeenId}
+ */
+public record NotificationSyncDTO(int userId, List<NotificationDTO> notifications, int lastSeenId,
+                                  long unreadCount, boolean hasMore) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Normalizes a requested batch size.
+     *
+     * @param limit The requested batch size (may be null)
+     * @return The batch size to use, between 1 and {@value #MAX_LIMIT}
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
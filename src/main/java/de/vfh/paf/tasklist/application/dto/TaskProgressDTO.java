@@ -84,4 +84,47 @@ public class TaskProgressDTO {
         }
     }
 
+    /**
+     * Creates a copy of this progress with the state of a running progress tracker.
+     *
+     * @param progressData The current progress of the task
+     * @param completed    Whether this is the final progress update
+     * @return The updated progress
+     */
+    public TaskProgressDTO withProgress(CalculatePiTask.ProgressData progressData, boolean completed) {
+        TaskProgressDTO progress = new TaskProgressDTO();
+        progress.taskId = taskId;
+        progress.title = title;
+        progress.taskClassName = taskClassName;
+        progress.status = completed ? "DONE" : "RUNNING";
+        progress.hasProgress = true;
+        progress.progressPercentage = completed ? 100 : progressData.getProgressPercentage();
+        progress.startTime = progressData.getStartTime();
+        progress.elapsedTimeMillis = progressData.getElapsedTimeMillis();
+        progress.estimatedTimeRemainingMillis = completed ? 0 : progressData.getEstimatedTimeRemainingMillis();
+        progress.currentValue = String.format("%.10f", progressData.getCurrentValue());
+        return progress;
+    }
+
+    /**
+     * Creates a copy of this progress with another task status.
+     *
+     * @param newStatus The new status of the task
+     * @return The updated progress
+     */
+    public TaskProgressDTO withStatus(String newStatus) {
+        TaskProgressDTO progress = new TaskProgressDTO();
+        progress.taskId = taskId;
+        progress.title = title;
+        progress.taskClassName = taskClassName;
+        progress.status = newStatus;
+        progress.hasProgress = hasProgress || "DONE".equals(newStatus);
+        progress.progressPercentage = "DONE".equals(newStatus) ? 100 : progressPercentage;
+        progress.startTime = startTime;
+        progress.elapsedTimeMillis = elapsedTimeMillis;
+        progress.estimatedTimeRemainingMillis = "DONE".equals(newStatus) ? 0 : estimatedTimeRemainingMillis;
+        progress.currentValue = currentValue;
+        return progress;
+    }
+
 }
\ No newline at end of file
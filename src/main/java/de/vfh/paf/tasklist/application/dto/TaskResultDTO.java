@@ -19,9 +19,15 @@ public class TaskResultDTO {
     @Schema(description = "Title of the result")
     private String title;
 
-    @Schema(description = "Detailed result content")
+    @Schema(description = "Detailed result content; only a preview if the result is stored externally")
     private String content;
 
+    @Schema(description = "Length of the full result content in bytes")
+    private Long contentLength;
+
+    @Schema(description = "Whether the full content must be downloaded from /tasks/details/{id}/result/content")
+    private boolean external;
+
     @Schema(description = "Timestamp when the result was produced")
     private LocalDateTime timestamp;
 
@@ -32,6 +38,8 @@ public class TaskResultDTO {
         this.title = taskResult.getTitle();
         this.content = taskResult.getContent();
         this.timestamp = taskResult.getTimestamp();
+        this.contentLength = taskResult.getContentLength();
+        this.external = taskResult.isExternal();
     }
 
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package de.vfh.paf.tasklist.application.dto;
 
 import de.vfh.paf.tasklist.domain.model.RunnableTask;
+import de.vfh.paf.tasklist.domain.service.TaskFactory;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Map;
+
 /**
  * Data Transfer Object for available task types.
  */
@@ -24,6 +27,10 @@ public class TaskTypeDTO {
     @Schema(description = "Description of what the task does")
     private String description;
 
+    @Schema(description = "Parameters read from the task description, by name",
+            example = "{\"iterations\": \"Number of iterations of the Leibniz formula (default 1000)\"}")
+    private Map<String, String> parameters;
+
     public TaskTypeDTO() {
     }
 
@@ -31,6 +38,14 @@ public class TaskTypeDTO {
         this.className = className;
         this.name = taskType.getName();
         this.description = taskType.getDescription();
+        this.parameters = taskType.getParameters();
+    }
+
+    public TaskTypeDTO(TaskFactory.TaskTypeMetadata metadata) {
+        this.className = metadata.className();
+        this.name = metadata.name();
+        this.description = metadata.description();
+        this.parameters = metadata.parameters();
     }
 
 }
\ No newline at end of file
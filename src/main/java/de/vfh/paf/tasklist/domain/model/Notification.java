@@ -16,6 +16,12 @@ import java.util.Objects;
 @Entity
 @Table(name = "notifications")
 public class Notification {
+    /**
+     * Prefix of deduplication keys that only apply while the notification is unread.
+     * Such keys are released when the notification is read or archived.
+     */
+    public static final String UNREAD_DEDUP_PREFIX = "unread:";
+
     // Getters and Setters
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +55,9 @@ public class Notification {
     @Enumerated(EnumType.STRING)
     private NotificationStatus status;
 
+    @Column(name = "dedup_key")
+    private String dedupKey; // Unique while set; null if the notification is not deduplicated
+
     /**
      * Default constructor required by JPA
      */
@@ -131,6 +140,10 @@ public class Notification {
         }
 
         this.status = newStatus;
+        if (newStatus.isRead() && dedupKey != null && dedupKey.startsWith(UNREAD_DEDUP_PREFIX)) {
+            // Allow a new notification with the same key once this one has been read
+            this.dedupKey = null;
+        }
         return true;
     }
 
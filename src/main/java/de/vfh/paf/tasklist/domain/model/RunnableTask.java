@@ -1,8 +1,13 @@
 package de.vfh.paf.tasklist.domain.model;
 
+import java.util.Map;
+
 /**
  * Interface for executable tasks.
  * Classes implementing this interface can be executed by the task system.
+ * Implementations are discovered by the {@code TaskFactory}, either as Spring beans or through
+ * {@code META-INF/services}, and one instance per type is shared by all executions, so they must be
+ * stateless and thread-safe.
  */
 public interface RunnableTask {
 
@@ -27,4 +32,13 @@ public interface RunnableTask {
      * @return A human-readable description
      */
     String getDescription();
-}
\ No newline at end of file
+
+    /**
+     * Returns the parameters this task reads from the task description.
+     *
+     * @return Map of parameter name to a human-readable description, empty if there are none
+     */
+    default Map<String, String> getParameters() {
+        return Map.of();
+    }
+}
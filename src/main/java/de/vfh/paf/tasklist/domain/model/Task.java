@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,10 +16,16 @@ import java.util.Objects;
 /**
  * Represents a task in the task list application.
  * Tasks can have dependencies on other tasks and can be assigned to users.
+ * Tasks and their dependency lists are kept in the second-level cache.
  */
 @Entity
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 public class Task {
+    public static final String CACHE_REGION = "tasks";
+    public static final String DEPENDENCIES_CACHE_REGION = "task-dependencies";
+
     // Getters and Setters
     @Setter
     @Getter
@@ -63,6 +72,8 @@ public class Task {
             joinColumns = @JoinColumn(name = "task_id"),
             inverseJoinColumns = @JoinColumn(name = "dependency_id")
     )
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.DEPENDENCIES_CACHE_REGION)
     private List<Task> dependencies = new ArrayList<>();
 
     @Setter
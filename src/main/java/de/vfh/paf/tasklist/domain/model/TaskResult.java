@@ -1,8 +1,11 @@
 package de.vfh.paf.tasklist.domain.model;
 
+import de.vfh.paf.tasklist.infrastructure.storage.TaskResultSpillListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -10,12 +13,20 @@ import java.util.Objects;
 /**
  * Represents the result of a completed task.
  * This can be any type of computation result, such as a calculation, current time, etc.
+ * Large results are moved to the result blob store on persist; in that case {@code content}
+ * only holds a preview and {@code blobKey} references the full content.
+ * Results are written once when a task is done and read often, so they are kept in the second-level cache.
  */
 @Setter
 @Getter
 @Entity
 @Table(name = "task_results")
+@EntityListeners(TaskResultSpillListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TaskResult.CACHE_REGION)
 public class TaskResult {
+    public static final String CACHE_REGION = "task-results";
+
 
     // Getters and Setters
     @Id
@@ -34,6 +45,12 @@ public class TaskResult {
     @Column(name = "task_id")
     private Integer taskId;
 
+    @Column(name = "blob_key", length = 64)
+    private String blobKey; // Key of the full content in the blob store, null if stored inline
+
+    @Column(name = "content_length")
+    private Long contentLength; // Length of the full content in UTF-8 bytes
+
     /**
      * Default constructor required by JPA
      */
@@ -88,6 +105,15 @@ public class TaskResult {
         return content;
     }
 
+    /**
+     * Checks whether the full content is stored outside the database.
+     *
+     * @return true if the content has been moved to the blob store
+     */
+    public boolean isExternal() {
+        return blobKey != null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
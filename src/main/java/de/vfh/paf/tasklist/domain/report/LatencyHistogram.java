@@ -0,0 +1,90 @@
+package de.vfh.paf.tasklist.domain.report;
+
+/**
+ * Fixed-size log-linear histogram for millisecond durations.
+ * Records values in O(1) time and constant memory, so percentiles can be computed
+ * in a single pass over an arbitrarily large data set. Values below 16 ms are exact;
+ * larger values are grouped into 8 sub-buckets per power of two (at most 12.5% relative error).
+ */
+public class LatencyHistogram {
+
+    private static final int EXACT_LIMIT = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKET_COUNT = EXACT_LIMIT + (63 - 4) * SUB_BUCKETS;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Records a duration.
+     *
+     * @param millis The duration in milliseconds; negative values are clamped to zero
+     */
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        buckets[indexOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the approximate value at the given percentile.
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The upper bound of the bucket holding the percentile, or 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    private static int indexOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return EXACT_LIMIT + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < EXACT_LIMIT) {
+            return index;
+        }
+        int exponent = (index - EXACT_LIMIT) / SUB_BUCKETS + 4;
+        int subBucket = (index - EXACT_LIMIT) % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << (exponent - 3);
+        return lower + (1L << (exponent - 3)) - 1;
+    }
+}
@@ -0,0 +1,12 @@
+package de.vfh.paf.tasklist.domain.report;
+
+import de.vfh.paf.tasklist.domain.model.NotificationStatus;
+
+/**
+ * Flat, unmanaged projection of a notification row used by the report engine.
+ *
+ * @param type   The notification type
+ * @param status The notification status
+ */
+public record NotificationReportRow(String type, NotificationStatus status) {
+}
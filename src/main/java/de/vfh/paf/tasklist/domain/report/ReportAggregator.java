@@ -0,0 +1,153 @@
+package de.vfh.paf.tasklist.domain.report;
+
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Single-pass accumulator for report statistics.
+ * Each row is folded into counters as it is streamed from the database, so the memory
+ * footprint depends on the number of distinct statuses, types and users, not on the number of rows.
+ */
+public class ReportAggregator {
+
+    private final Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<String, Long> tasksByType = new TreeMap<>();
+    private final Map<Integer, Long> tasksByUser = new HashMap<>();
+    private final LatencyHistogram completionLatency = new LatencyHistogram();
+    private long taskCount;
+    private long overdueCount;
+
+    private final Map<String, Long> notificationsByType = new TreeMap<>();
+    private final Map<String, Long> notificationsByStatus = new TreeMap<>();
+    private long notificationCount;
+
+    private long resultCount;
+    private long resultSize;
+
+    /**
+     * Folds a task row into the statistics.
+     *
+     * @param row The task row
+     * @param now The reference time used to detect overdue tasks
+     */
+    public void acceptTask(TaskReportRow row, LocalDateTime now) {
+        taskCount++;
+        if (row.status() != null) {
+            tasksByStatus.merge(row.status(), 1L, Long::sum);
+        }
+        tasksByType.merge(simpleTypeName(row.taskClassName()), 1L, Long::sum);
+        if (row.assignedUserId() != null) {
+            tasksByUser.merge(row.assignedUserId(), 1L, Long::sum);
+        }
+
+        if (row.status() != TaskStatus.DONE && row.dueDate() != null && row.dueDate().isBefore(now)) {
+            overdueCount++;
+        }
+
+        // Tasks do not run before their due date, so the latency is measured from
+        // whichever came later: creation or scheduled time.
+        if (row.completedAt() != null && row.createdAt() != null) {
+            LocalDateTime start = row.dueDate() != null && row.dueDate().isAfter(row.createdAt())
+                    ? row.dueDate()
+                    : row.createdAt();
+            completionLatency.record(Duration.between(start, row.completedAt()).toMillis());
+        }
+    }
+
+    /**
+     * Folds a notification row into the statistics.
+     *
+     * @param row The notification row
+     */
+    public void acceptNotification(NotificationReportRow row) {
+        notificationCount++;
+        notificationsByType.merge(row.type() != null ? row.type() : "UNKNOWN", 1L, Long::sum);
+        notificationsByStatus.merge(row.status() != null ? row.status().name() : "UNKNOWN", 1L, Long::sum);
+    }
+
+    /**
+     * Folds a task result row into the statistics.
+     *
+     * @param row The result row
+     */
+    public void acceptResult(ResultReportRow row) {
+        resultCount++;
+        if (row.contentLength() != null) {
+            resultSize += row.contentLength();
+        }
+    }
+
+    /**
+     * Returns the users with the most assigned tasks.
+     *
+     * @param limit Maximum number of users to return
+     * @return Entries of user ID to task count, highest count first
+     */
+    public List<Map.Entry<Integer, Long>> topUsers(int limit) {
+        return tasksByUser.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+    }
+
+    public Map<TaskStatus, Long> getTasksByStatus() {
+        return tasksByStatus;
+    }
+
+    public Map<String, Long> getTasksByType() {
+        return tasksByType;
+    }
+
+    public int getDistinctUsers() {
+        return tasksByUser.size();
+    }
+
+    public LatencyHistogram getCompletionLatency() {
+        return completionLatency;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    public Map<String, Long> getNotificationsByType() {
+        return notificationsByType;
+    }
+
+    public Map<String, Long> getNotificationsByStatus() {
+        return notificationsByStatus;
+    }
+
+    public long getNotificationCount() {
+        return notificationCount;
+    }
+
+    public long getResultCount() {
+        return resultCount;
+    }
+
+    public long getResultSize() {
+        return resultSize;
+    }
+
+    private static String simpleTypeName(String taskClassName) {
+        if (taskClassName == null || taskClassName.isEmpty()) {
+            return "Standard Task";
+        }
+        int lastDot = taskClassName.lastIndexOf('.');
+        return lastDot >= 0 ? taskClassName.substring(lastDot + 1) : taskClassName;
+    }
+}
@@ -0,0 +1,10 @@
+package de.vfh.paf.tasklist.domain.report;
+
+/**
+ * Flat, unmanaged projection of a task result row used by the report engine.
+ *
+ * @param taskId        The task the result belongs to
+ * @param contentLength Length of the full result content (in bytes when known, otherwise in characters)
+ */
+public record ResultReportRow(Integer taskId, Long contentLength) {
+}
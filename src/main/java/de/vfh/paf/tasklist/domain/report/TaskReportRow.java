@@ -0,0 +1,24 @@
+package de.vfh.paf.tasklist.domain.report;
+
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged projection of a task row used by the report engine.
+ * Selected via a JPQL constructor expression so streaming does not fill the persistence context.
+ *
+ * @param status         The task status
+ * @param taskClassName  The task implementation class name
+ * @param assignedUserId The assigned user
+ * @param createdAt      Creation timestamp
+ * @param dueDate        Scheduled execution time
+ * @param completedAt    Completion timestamp (null if not done)
+ */
+public record TaskReportRow(TaskStatus status,
+                            String taskClassName,
+                            Integer assignedUserId,
+                            LocalDateTime createdAt,
+                            LocalDateTime dueDate,
+                            LocalDateTime completedAt) {
+}
@@ -1,20 +1,28 @@
 package de.vfh.paf.tasklist.domain.repository;
 
 import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.report.NotificationReportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for notifications using JPA.
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+public interface NotificationRepository extends JpaRepository<Notification, Integer>, NotificationRepositoryCustom {
 
     /**
      * Finds all notifications for a specific user.
@@ -100,4 +108,192 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
     @Query("SELECT n FROM Notification n WHERE n.type = :type AND n.relatedTaskId = :relatedTaskId " +
            "ORDER BY n.createdAt DESC")
     List<Notification> findByTypeAndRelatedTaskId(@Param("type") String type, @Param("relatedTaskId") Integer relatedTaskId);
-}
\ No newline at end of file
+
+    /**
+     * Finds the next page of notifications, newest first, ordered by (creation time, ID).
+     *
+     * @param createdAt Creation time of the last notification of the previous page
+     * @param id        ID of the last notification of the previous page
+     * @param pageable  The page size
+     * @return The notifications of the next page
+     */
+    @Query("SELECT n FROM Notification n WHERE n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Integer id,
+                                      Pageable pageable);
+
+    /**
+     * Finds the next page of notifications for a user, newest first, ordered by (creation time, ID).
+     *
+     * @param userId    The user ID
+     * @param createdAt Creation time of the last notification of the previous page
+     * @param id        ID of the last notification of the previous page
+     * @param pageable  The page size
+     * @return The notifications of the next page
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUserIdBefore(@Param("userId") Integer userId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Finds the next page of notifications for a user with a certain read status, newest first.
+     *
+     * @param userId    The user ID
+     * @param isRead    Whether the notifications have been read
+     * @param createdAt Creation time of the last notification of the previous page
+     * @param id        ID of the last notification of the previous page
+     * @param pageable  The page size
+     * @return The notifications of the next page
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND " +
+            "((:isRead = true AND n.status IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, de.vfh.paf.tasklist.domain.model.NotificationStatus.ARCHIVED)) OR " +
+            "(:isRead = false AND n.status NOT IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, de.vfh.paf.tasklist.domain.model.NotificationStatus.ARCHIVED))) " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUserIdAndReadStatusBefore(@Param("userId") Integer userId,
+                                                           @Param("isRead") boolean isRead,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Finds the notifications of a user created after a last-seen notification, oldest first.
+     *
+     * @param userId   The user ID
+     * @param afterId  ID of the last notification the client has seen
+     * @param pageable The maximum number of notifications
+     * @return The newer notifications in ID order
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.id > :afterId ORDER BY n.id")
+    List<Notification> findByUserIdAfter(@Param("userId") Integer userId, @Param("afterId") Integer afterId,
+                                         Pageable pageable);
+
+    /**
+     * Finds the most recent notifications of a user, newest first.
+     *
+     * @param userId   The user ID
+     * @param pageable The maximum number of notifications
+     * @return The latest notifications in descending ID order
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId ORDER BY n.id DESC")
+    List<Notification> findLatestByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    /**
+     * Counts the unread notifications of a user.
+     *
+     * @param userId The user ID
+     * @return The number of notifications that are neither read nor archived
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND " +
+           "n.status NOT IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, de.vfh.paf.tasklist.domain.model.NotificationStatus.ARCHIVED)")
+    long countUnreadByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Counts the unread notifications of several users.
+     *
+     * @param userIds The user IDs
+     * @return Rows of user ID and number of unread notifications; users without unread notifications are omitted
+     */
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n WHERE n.userId IN :userIds AND " +
+           "n.status NOT IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, de.vfh.paf.tasklist.domain.model.NotificationStatus.ARCHIVED) " +
+           "GROUP BY n.userId")
+    List<Object[]> countUnreadGroupedByUserId(@Param("userIds") List<Integer> userIds);
+
+    /**
+     * Finds the deduplication keys that are released when the unread notifications of a user are read.
+     *
+     * @param userId The user ID
+     * @return The unread-scoped deduplication keys
+     */
+    @Query("SELECT n.dedupKey FROM Notification n WHERE n.userId = :userId " +
+           "AND n.status IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.SENT, de.vfh.paf.tasklist.domain.model.NotificationStatus.DELIVERED) " +
+           "AND n.dedupKey LIKE 'unread:%'")
+    List<String> findReleasableDedupKeys(@Param("userId") Integer userId);
+
+    /**
+     * Finds the deduplication keys that are released when some unread notifications of a user are read.
+     *
+     * @param userId The user ID
+     * @param ids    The notification IDs
+     * @return The unread-scoped deduplication keys
+     */
+    @Query("SELECT n.dedupKey FROM Notification n WHERE n.userId = :userId AND n.id IN :ids " +
+           "AND n.status IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.SENT, de.vfh.paf.tasklist.domain.model.NotificationStatus.DELIVERED) " +
+           "AND n.dedupKey LIKE 'unread:%'")
+    List<String> findReleasableDedupKeysByIds(@Param("userId") Integer userId, @Param("ids") Collection<Integer> ids);
+
+    /**
+     * Marks all unread notifications of a user as read in one statement.
+     * Only notifications that may transition to READ (SENT or DELIVERED) are updated.
+     *
+     * @param userId The user ID
+     * @param readAt The read timestamp
+     * @return The number of updated notifications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, n.readAt = :readAt " +
+           "WHERE n.userId = :userId " +
+           "AND n.status IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.SENT, de.vfh.paf.tasklist.domain.model.NotificationStatus.DELIVERED)")
+    int markAllReadByUserId(@Param("userId") Integer userId, @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Marks some unread notifications of a user as read in one statement.
+     * Notifications of other users and notifications that may not transition to READ are skipped.
+     *
+     * @param userId The user ID
+     * @param ids    The notification IDs
+     * @param readAt The read timestamp
+     * @return The number of updated notifications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = de.vfh.paf.tasklist.domain.model.NotificationStatus.READ, n.readAt = :readAt " +
+           "WHERE n.userId = :userId AND n.id IN :ids " +
+           "AND n.status IN (de.vfh.paf.tasklist.domain.model.NotificationStatus.SENT, de.vfh.paf.tasklist.domain.model.NotificationStatus.DELIVERED)")
+    int markReadByUserIdAndIds(@Param("userId") Integer userId, @Param("ids") Collection<Integer> ids,
+                               @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Clears deduplication keys so that new notifications with the same keys can be created.
+     *
+     * @param dedupKeys The keys to release
+     * @return The number of updated notifications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.dedupKey = NULL WHERE n.dedupKey IN :dedupKeys")
+    int releaseDedupKeys(@Param("dedupKeys") Collection<String> dedupKeys);
+
+    /**
+     * Archives the read notifications of a user in one statement.
+     *
+     * @param userId     The user ID
+     * @param readBefore Only notifications read before this time are archived
+     * @return The number of archived notifications
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = de.vfh.paf.tasklist.domain.model.NotificationStatus.ARCHIVED " +
+           "WHERE n.userId = :userId AND n.status = de.vfh.paf.tasklist.domain.model.NotificationStatus.READ " +
+           "AND n.readAt < :readBefore")
+    int archiveReadByUserId(@Param("userId") Integer userId, @Param("readBefore") LocalDateTime readBefore);
+
+    /**
+     * Streams all notifications in ID order for exports.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of all notifications
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT n FROM Notification n ORDER BY n.id")
+    Stream<Notification> streamAll();
+
+    /**
+     * Streams the type and status of every notification for report generation.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of notification report rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new de.vfh.paf.tasklist.domain.report.NotificationReportRow(n.type, n.status) FROM Notification n")
+    Stream<NotificationReportRow> streamReportRows();
+}
@@ -0,0 +1,56 @@
+package de.vfh.paf.tasklist.domain.repository;
+
+import de.vfh.paf.tasklist.domain.model.Notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom operations for notifications that cannot be expressed as derived or JPQL queries.
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts a notification unless a notification with the same deduplication key already exists.
+     * The check and the insert are a single atomic statement backed by the unique index on the
+     * deduplication key, so concurrent senders cannot create duplicates.
+     * On success the generated ID is set on the notification; the notification is not attached
+     * to the persistence context.
+     *
+     * @param notification The notification to insert
+     * @return true if the notification was inserted, false if its deduplication key was already taken
+     */
+    boolean insertIfAbsent(Notification notification);
+
+    /**
+     * Inserts several notifications in one batch, skipping those whose deduplication key is already taken.
+     * On success the generated IDs are set on the inserted notifications.
+     *
+     * @param notifications The notifications to insert
+     * @return The notifications that were inserted, in their original order
+     */
+    List<Notification> insertAllIfAbsent(List<Notification> notifications);
+
+    /**
+     * Moves read notifications into the archive table.
+     * Notifications whose deduplication key still guards an open task stay in the hot table, so
+     * archiving never lets a duplicate task notification through. Must be called inside a transaction.
+     *
+     * @param readBefore Notifications read before this time are archived
+     * @param batchSize  The maximum number of notifications to move
+     * @return The number of notifications moved
+     */
+    int archiveReadBefore(LocalDateTime readBefore, int batchSize);
+
+    /**
+     * Finds archived notifications of a user, newest first.
+     * This includes notifications the user archived, which stay in the hot table with status ARCHIVED,
+     * and old read notifications moved to the archive table by the retention job.
+     * The returned notifications are not attached to the persistence context.
+     *
+     * @param userId The user ID
+     * @param limit  The maximum number of notifications
+     * @return The archived notifications
+     */
+    List<Notification> findArchivedByUserId(int userId, int limit);
+}
@@ -0,0 +1,251 @@
+package de.vfh.paf.tasklist.domain.repository;
+
+import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.model.NotificationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDBC implementation of {@link NotificationRepositoryCustom}.
+ * On PostgreSQL duplicates are skipped with {@code ON CONFLICT DO NOTHING}, which does not abort
+ * the surrounding transaction. Other databases (H2 in tests) use a plain insert and treat a unique
+ * key violation as a duplicate; batches are only sent as a JDBC batch on PostgreSQL.
+ * Read notifications are moved to {@code notifications_archive}, which is partitioned by month on
+ * PostgreSQL; the monthly partitions are created on demand.
+ */
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final String INSERT = "INSERT INTO notifications (user_id, message, urgency, type, " +
+            "related_task_id, created_at, sent_at, delivered_at, read_at, status, dedup_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT = " ON CONFLICT (dedup_key) DO NOTHING";
+    private static final String ARCHIVE_COLUMNS = "id, user_id, message, urgency, type, related_task_id, " +
+            "created_at, sent_at, delivered_at, read_at, status";
+    // Keys of task notifications must stay as long as the task is open, or the task could be notified again
+    private static final String ARCHIVE_CANDIDATES = "SELECT n.id, n.created_at FROM notifications n " +
+            "WHERE n.status IN ('READ', 'ARCHIVED') AND COALESCE(n.read_at, n.created_at) < ? " +
+            "AND (n.dedup_key IS NULL OR NOT EXISTS (SELECT 1 FROM tasks t " +
+            "WHERE t.id = n.related_task_id AND t.task_status <> 'DONE')) " +
+            "ORDER BY n.id LIMIT ?";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+    private final Set<YearMonth> archivePartitions = ConcurrentHashMap.newKeySet();
+
+    public NotificationRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(Notification notification) {
+        flushPendingChanges();
+
+        String sql = isPostgres() ? INSERT + ON_CONFLICT : INSERT;
+        Object[] args = columnValues(notification);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted;
+        try {
+            inserted = jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+                new ArgumentPreparedStatementSetter(args).setValues(statement);
+                return statement;
+            }, keyHolder);
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+
+        if (inserted == 0) {
+            return false;
+        }
+        notification.setId(keyHolder.getKey().intValue());
+        return true;
+    }
+
+    @Override
+    public List<Notification> insertAllIfAbsent(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        if (!isPostgres()) {
+            // A failing row would abort a JDBC batch on other databases, so insert row by row
+            List<Notification> inserted = new ArrayList<>();
+            for (Notification notification : notifications) {
+                if (insertIfAbsent(notification)) {
+                    inserted.add(notification);
+                }
+            }
+            return inserted;
+        }
+
+        flushPendingChanges();
+        return jdbcTemplate.execute((ConnectionCallback<List<Notification>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT + ON_CONFLICT, new String[]{"id"})) {
+                for (Notification notification : notifications) {
+                    new ArgumentPreparedStatementSetter(columnValues(notification)).setValues(statement);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+
+                // Skipped rows return no key, so keys belong to the rows with an update count of 1
+                List<Notification> inserted = new ArrayList<>();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0 && keys.next()) {
+                            Notification notification = notifications.get(i);
+                            notification.setId(keys.getInt(1));
+                            inserted.add(notification);
+                        }
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+
+    @Override
+    public int archiveReadBefore(LocalDateTime readBefore, int batchSize) {
+        flushPendingChanges();
+
+        List<Integer> ids = new ArrayList<>();
+        Set<YearMonth> months = new TreeSet<>();
+        jdbcTemplate.query(ARCHIVE_CANDIDATES, resultSet -> {
+            ids.add(resultSet.getInt(1));
+            Timestamp createdAt = resultSet.getTimestamp(2);
+            if (createdAt != null) {
+                months.add(YearMonth.from(createdAt.toLocalDateTime()));
+            }
+        }, Timestamp.valueOf(readBefore), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (isPostgres()) {
+            months.forEach(this::ensureArchivePartition);
+        }
+
+        String idList = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] archiveArgs = new Object[ids.size() + 1];
+        archiveArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < ids.size(); i++) {
+            archiveArgs[i + 1] = ids.get(i);
+        }
+        jdbcTemplate.update("INSERT INTO notifications_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+                "SELECT " + ARCHIVE_COLUMNS + ", ? FROM notifications WHERE id IN (" + idList + ")", archiveArgs);
+        int moved = jdbcTemplate.update("DELETE FROM notifications WHERE id IN (" + idList + ")", ids.toArray());
+
+        // Archived notifications must not be written back from the persistence context
+        entityManager.clear();
+        return moved;
+    }
+
+    @Override
+    public List<Notification> findArchivedByUserId(int userId, int limit) {
+        // Notifications archived by the user are still in the hot table; moved rows exist in only one of both tables
+        return jdbcTemplate.query("SELECT " + ARCHIVE_COLUMNS + " FROM notifications " +
+                "WHERE user_id = ? AND status = 'ARCHIVED' " +
+                "UNION ALL SELECT " + ARCHIVE_COLUMNS + " FROM notifications_archive WHERE user_id = ? " +
+                "ORDER BY id DESC LIMIT ?", (resultSet, rowNum) -> {
+            Notification notification = new Notification();
+            notification.setId(resultSet.getInt("id"));
+            notification.setUserId(resultSet.getObject("user_id", Integer.class));
+            notification.setMessage(resultSet.getString("message"));
+            notification.setUrgency(resultSet.getString("urgency"));
+            notification.setType(resultSet.getString("type"));
+            notification.setRelatedTaskId(resultSet.getObject("related_task_id", Integer.class));
+            notification.setCreatedAt(resultSet.getObject("created_at", LocalDateTime.class));
+            notification.setSentAt(resultSet.getObject("sent_at", LocalDateTime.class));
+            notification.setDeliveredAt(resultSet.getObject("delivered_at", LocalDateTime.class));
+            notification.setReadAt(resultSet.getObject("read_at", LocalDateTime.class));
+            notification.setStatus(NotificationStatus.valueOf(resultSet.getString("status")));
+            return notification;
+        }, userId, userId, limit);
+    }
+
+    /**
+     * Creates the monthly archive partition for a month unless it already exists.
+     * The partition is created in the current transaction, so it is only remembered once that
+     * transaction commits; after a rollback it is created again by the next batch, instead of that
+     * batch's rows going to the default partition.
+     *
+     * @param month The month of the notifications' creation time
+     */
+    private void ensureArchivePartition(YearMonth month) {
+        if (archivePartitions.contains(month)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS notifications_archive_" + PARTITION_SUFFIX.format(month) +
+                " PARTITION OF notifications_archive FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    archivePartitions.add(month);
+                }
+            });
+        } else {
+            archivePartitions.add(month);
+        }
+    }
+
+    private void flushPendingChanges() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Pending changes (e.g. a released deduplication key) must reach the database first
+            entityManager.flush();
+        }
+    }
+
+    private static Object[] columnValues(Notification notification) {
+        return new Object[]{
+                notification.getUserId(),
+                notification.getMessage(),
+                notification.getUrgency(),
+                notification.getType(),
+                notification.getRelatedTaskId(),
+                notification.getCreatedAt(),
+                notification.getSentAt(),
+                notification.getDeliveredAt(),
+                notification.getReadAt(),
+                notification.getStatus() != null ? notification.getStatus().name() : null,
+                notification.getDedupKey()
+        };
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,27 +1,39 @@
 package de.vfh.paf.tasklist.domain.repository;
 
 import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import de.vfh.paf.tasklist.domain.report.TaskReportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Task entities using JPA.
+ * Lookups by ID, user and status use the query cache; cached results are discarded whenever the
+ * tasks table changes.
  */
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
 
     /**
-     * Override findById to eagerly fetch dependencies
+     * Override findById to eagerly fetch dependencies.
+     * The query is cached, since a fetch join bypasses the entity cache.
      * 
      * @param id The ID of the task
      * @return Optional containing the task if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies WHERE t.id = :id")
     Optional<Task> findById(@Param("id") Integer id);
     
@@ -40,6 +52,7 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
      * @param userId The ID of the user
      * @return A list of tasks assigned to the user
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies WHERE t.assignedUserId = :userId")
     List<Task> findAllByAssignedUserId(@Param("userId") Integer userId);
 
@@ -60,4 +73,170 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
      */
     @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies WHERE t.taskStatus <> 'DONE' AND t.dueDate < :currentTime")
     List<Task> findOverdueTasks(@Param("currentTime") LocalDateTime currentTime);
-}
\ No newline at end of file
+
+    /**
+     * Finds overdue tasks for which no notification of the given type exists yet.
+     * The check is an anti-join in the database, so only newly overdue tasks are loaded.
+     * Dependencies are not fetched.
+     *
+     * @param currentTime      The current time to compare with task due dates
+     * @param notificationType The notification type, e.g. TASK_OVERDUE
+     * @return The overdue tasks without such a notification, ordered by ID
+     */
+    @Query("SELECT t FROM Task t WHERE t.taskStatus <> 'DONE' AND t.dueDate < :currentTime " +
+           "AND NOT EXISTS (SELECT 1 FROM Notification n WHERE n.type = :type AND n.relatedTaskId = t.id) " +
+           "ORDER BY t.id")
+    List<Task> findOverdueTasksWithoutNotification(@Param("currentTime") LocalDateTime currentTime,
+                                                   @Param("type") String notificationType);
+
+    /**
+     * Finds all tasks with a specific status, latest due date first.
+     *
+     * @param status The status to filter by
+     * @return A list of tasks with the specified status
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies WHERE t.taskStatus = :status " +
+           "ORDER BY t.dueDate DESC")
+    List<Task> findByTaskStatus(@Param("status") TaskStatus status);
+
+    /**
+     * Finds all tasks assigned to a specific user with a specific status, latest due date first.
+     *
+     * @param userId The ID of the user
+     * @param status The status to filter by
+     * @return A list of matching tasks
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies " +
+           "WHERE t.assignedUserId = :userId AND t.taskStatus = :status ORDER BY t.dueDate DESC")
+    List<Task> findByAssignedUserIdAndTaskStatus(@Param("userId") Integer userId, @Param("status") TaskStatus status);
+
+    /**
+     * Finds all tasks that are ready to run: queued, runnable, due, and without unfinished dependencies.
+     * The result is ordered by due date so the most overdue tasks are started first.
+     *
+     * @param currentTime The current time to compare with task due dates
+     * @return A list of ready to run tasks
+     */
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies " +
+           "WHERE t.taskStatus = de.vfh.paf.tasklist.domain.model.TaskStatus.QUEUED " +
+           "AND t.taskClassName IS NOT NULL AND t.dueDate <= :currentTime " +
+           "AND NOT EXISTS (SELECT 1 FROM Task t2 JOIN t2.dependencies d WHERE t2.id = t.id " +
+           "AND d.taskStatus <> de.vfh.paf.tasklist.domain.model.TaskStatus.DONE) " +
+           "ORDER BY t.dueDate")
+    List<Task> findReadyToRun(@Param("currentTime") LocalDateTime currentTime);
+
+    /**
+     * Finds tasks by ID with their dependencies, e.g. to load a page whose IDs were selected by a keyset query.
+     *
+     * @param ids The IDs of the tasks
+     * @return The tasks in no particular order
+     */
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.dependencies WHERE t.id IN :ids")
+    List<Task> findAllWithDependenciesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Selects the IDs of the next page of tasks ordered by (due date, ID).
+     * Only IDs are paginated because limits cannot be applied in SQL to queries that fetch-join collections.
+     *
+     * @param dueDate  Due date of the last task of the previous page
+     * @param id       ID of the last task of the previous page
+     * @param pageable The page size
+     * @return The task IDs of the next page
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id) " +
+           "ORDER BY t.dueDate, t.id")
+    List<Integer> findPageIds(@Param("dueDate") LocalDateTime dueDate, @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Selects the IDs of the next page of tasks with a specific status ordered by (due date, ID).
+     *
+     * @param status   The status to filter by
+     * @param dueDate  Due date of the last task of the previous page
+     * @param id       ID of the last task of the previous page
+     * @param pageable The page size
+     * @return The task IDs of the next page
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.taskStatus = :status " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) ORDER BY t.dueDate, t.id")
+    List<Integer> findPageIdsByTaskStatus(@Param("status") TaskStatus status, @Param("dueDate") LocalDateTime dueDate,
+                                          @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Selects the IDs of the next page of tasks assigned to a user ordered by (due date, ID).
+     *
+     * @param userId   The ID of the user
+     * @param dueDate  Due date of the last task of the previous page
+     * @param id       ID of the last task of the previous page
+     * @param pageable The page size
+     * @return The task IDs of the next page
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.assignedUserId = :userId " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) ORDER BY t.dueDate, t.id")
+    List<Integer> findPageIdsByAssignedUserId(@Param("userId") Integer userId, @Param("dueDate") LocalDateTime dueDate,
+                                              @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Selects the IDs of the next page of tasks assigned to a user with a specific status ordered by (due date, ID).
+     *
+     * @param userId   The ID of the user
+     * @param status   The status to filter by
+     * @param dueDate  Due date of the last task of the previous page
+     * @param id       ID of the last task of the previous page
+     * @param pageable The page size
+     * @return The task IDs of the next page
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.assignedUserId = :userId AND t.taskStatus = :status " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) ORDER BY t.dueDate, t.id")
+    List<Integer> findPageIdsByAssignedUserIdAndTaskStatus(@Param("userId") Integer userId,
+                                                           @Param("status") TaskStatus status,
+                                                           @Param("dueDate") LocalDateTime dueDate,
+                                                           @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Selects the sort keys of the next page among a given set of tasks (e.g. the contents of a queue)
+     * ordered by (due date, ID). The due dates allow merging the pages of several sets.
+     *
+     * @param ids      The candidate task IDs
+     * @param statuses The statuses to include
+     * @param dueDate  Due date of the last task of the previous page
+     * @param id       ID of the last task of the previous page
+     * @param pageable The page size
+     * @return The sort keys of the tasks of the next page
+     */
+    @Query("SELECT new de.vfh.paf.tasklist.domain.repository.TaskSortKey(t.id, t.dueDate) FROM Task t " +
+           "WHERE t.id IN :ids AND t.taskStatus IN :statuses " +
+           "AND (t.dueDate > :dueDate OR (t.dueDate = :dueDate AND t.id > :id)) ORDER BY t.dueDate, t.id")
+    List<TaskSortKey> findPageKeysByIdIn(@Param("ids") Collection<Integer> ids,
+                                         @Param("statuses") Collection<TaskStatus> statuses,
+                                         @Param("dueDate") LocalDateTime dueDate,
+                                         @Param("id") Integer id, Pageable pageable);
+
+    /**
+     * Streams all tasks in ID order for exports.
+     * Dependencies are loaded lazily in batches. The tasks bypass the second-level cache, so an
+     * export does not evict the frequently read tasks. Must be consumed inside a transaction and
+     * closed after use.
+     *
+     * @return A stream of all tasks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    /**
+     * Streams a flat projection of all tasks for report generation.
+     * The rows are not managed entities, so iterating does not grow the persistence context.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of task report rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new de.vfh.paf.tasklist.domain.report.TaskReportRow(" +
+           "t.taskStatus, t.taskClassName, t.assignedUserId, t.createdAt, t.dueDate, t.completedAt) FROM Task t")
+    Stream<TaskReportRow> streamReportRows();
+}
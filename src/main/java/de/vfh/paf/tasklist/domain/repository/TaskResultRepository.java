@@ -1,10 +1,19 @@
 package de.vfh.paf.tasklist.domain.repository;
 
 import de.vfh.paf.tasklist.domain.model.TaskResult;
+import de.vfh.paf.tasklist.domain.report.ResultReportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for managing task results.
@@ -18,5 +27,58 @@ public interface TaskResultRepository extends JpaRepository<TaskResult, Integer>
      * @param taskId The ID of the task
      * @return List of task results
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TaskResult> findByTaskId(Integer taskId);
-}
\ No newline at end of file
+
+    /**
+     * Finds the most recent result for a specific task.
+     *
+     * @param taskId The ID of the task
+     * @return Optional containing the latest result, if any
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<TaskResult> findFirstByTaskIdOrderByIdDesc(Integer taskId);
+
+    /**
+     * Finds the most recent result for each of the given tasks in a single query.
+     *
+     * @param taskIds The IDs of the tasks
+     * @return The latest result per task; tasks without results are absent
+     */
+    @Query("SELECT r FROM TaskResult r WHERE r.id IN " +
+           "(SELECT MAX(r2.id) FROM TaskResult r2 WHERE r2.taskId IN :taskIds GROUP BY r2.taskId)")
+    List<TaskResult> findLatestByTaskIds(@Param("taskIds") Collection<Integer> taskIds);
+
+    /**
+     * Finds the most recent result for each of the given tasks without reading or filling the
+     * second-level cache. Used by exports, which touch every result once and would otherwise evict
+     * the frequently read ones.
+     *
+     * @param taskIds The IDs of the tasks
+     * @return The latest result per task; tasks without results are absent
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT r FROM TaskResult r WHERE r.id IN " +
+           "(SELECT MAX(r2.id) FROM TaskResult r2 WHERE r2.taskId IN :taskIds GROUP BY r2.taskId)")
+    List<TaskResult> findLatestByTaskIdsUncached(@Param("taskIds") Collection<Integer> taskIds);
+
+    /**
+     * Finds which of the given blob keys are referenced by a result.
+     *
+     * @param blobKeys The blob keys to check
+     * @return The referenced keys, each at most once
+     */
+    @Query("SELECT DISTINCT r.blobKey FROM TaskResult r WHERE r.blobKey IN :blobKeys")
+    List<String> findReferencedBlobKeys(@Param("blobKeys") Collection<String> blobKeys);
+
+    /**
+     * Streams the task ID and content length of every result for report generation.
+     * The content itself is never loaded, including for results held in the blob store. Must be consumed inside a transaction and closed after use.
+     *
+     * @return A stream of result report rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new de.vfh.paf.tasklist.domain.report.ResultReportRow(" +
+           "r.taskId, COALESCE(r.contentLength, CAST(LENGTH(r.content) AS Long))) FROM TaskResult r")
+    Stream<ResultReportRow> streamReportRows();
+}
@@ -0,0 +1,12 @@
+package de.vfh.paf.tasklist.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * ID and due date of a task, the keys tasks are paginated by.
+ *
+ * @param id      The ID of the task
+ * @param dueDate The due date of the task
+ */
+public record TaskSortKey(Integer id, LocalDateTime dueDate) {
+}
@@ -1,9 +1,12 @@
 package de.vfh.paf.tasklist.domain.repository;
 
 import de.vfh.paf.tasklist.domain.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository for users.
  * Uses JPA for database persistence.
@@ -16,4 +19,21 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     // - findAll()
     // - deleteById(Integer id)
     // and more
+
+    /**
+     * Finds the first users in ID order.
+     *
+     * @param pageable The page size
+     * @return The users
+     */
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Finds the users after an ID, in ID order.
+     *
+     * @param id       The last ID of the previous page
+     * @param pageable The page size
+     * @return The users
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
 }
\ No newline at end of file
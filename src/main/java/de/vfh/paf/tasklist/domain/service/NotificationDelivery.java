@@ -0,0 +1,35 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationStatusChangeDTO;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to connected clients.
+ * Implemented by the transport layer (e.g. WebSocket), so the notification service does not depend on it.
+ * The service only calls it after the notifications are committed.
+ */
+public interface NotificationDelivery {
+
+    /**
+     * Delivers user notifications to the general notification channel and the channel of their user.
+     *
+     * @param dtos The notifications to deliver
+     */
+    void dispatch(List<NotificationDTO> dtos);
+
+    /**
+     * Delivers a system notification to all clients.
+     *
+     * @param dto The notification to broadcast
+     */
+    void dispatchSystem(NotificationDTO dto);
+
+    /**
+     * Delivers a bulk status change to its user.
+     *
+     * @param change The status change
+     */
+    void dispatchStatusChange(NotificationStatusChangeDTO change);
+}
@@ -0,0 +1,108 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves old read notifications out of the hot {@code notifications} table.
+ * Read notifications older than the configured age are copied to the archive table and deleted
+ * from the hot table in small batches, each in its own transaction, so the per-user notification
+ * queries only scan recent and unread notifications. Archived notifications remain available
+ * through {@link #findArchived(int, int)}.
+ */
+@Service
+public class NotificationRetentionService {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int readAgeDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final ObjectProvider<ResourceVersions> resourceVersions;
+
+    /**
+     * Creates a new retention service.
+     *
+     * @param notificationRepository The repository for notifications
+     * @param transactionManager     The transaction manager used for the archive batches
+     * @param readAgeDays            How many days after being read a notification is archived
+     * @param batchSize              How many notifications are moved per transaction
+     * @param maxBatchesPerRun       How many batches one run moves at most
+     * @param resourceVersions       The ETag versions of the notification lists
+     */
+    public NotificationRetentionService(NotificationRepository notificationRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${tasklist.notifications.retention.read-age-days:30}") int readAgeDays,
+                                        @Value("${tasklist.notifications.retention.batch-size:1000}") int batchSize,
+                                        @Value("${tasklist.notifications.retention.max-batches-per-run:100}") int maxBatchesPerRun,
+                                        ObjectProvider<ResourceVersions> resourceVersions) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readAgeDays = readAgeDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.resourceVersions = resourceVersions;
+    }
+
+    /**
+     * Archives read notifications older than the configured age.
+     */
+    @Scheduled(fixedDelayString = "${tasklist.notifications.retention.interval-minutes:60}",
+            initialDelayString = "${tasklist.notifications.retention.interval-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void archiveOldNotifications() {
+        int archived = archiveReadBefore(LocalDateTime.now().minusDays(readAgeDays));
+        if (archived > 0) {
+            logger.info("Archived {} notifications read more than {} days ago", archived, readAgeDays);
+        }
+    }
+
+    /**
+     * Archives notifications read before a point in time.
+     *
+     * @param readBefore Notifications read before this time are archived
+     * @return The number of archived notifications
+     */
+    public int archiveReadBefore(LocalDateTime readBefore) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status ->
+                    notificationRepository.archiveReadBefore(readBefore, batchSize));
+            total += moved != null ? moved : 0;
+            if (moved == null || moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            // Archived notifications leave the lists of all affected users
+            resourceVersions.ifAvailable(versions -> versions.changed(ResourceVersions.NOTIFICATIONS));
+        }
+        return total;
+    }
+
+    /**
+     * Finds archived notifications of a user, newest first: those the user archived
+     * and those moved to the archive table.
+     *
+     * @param userId The ID of the user
+     * @param limit  The maximum number of notifications
+     * @return The archived notifications
+     */
+    public List<Notification> findArchived(int userId, int limit) {
+        return notificationRepository.findArchivedByUserId(userId, limit);
+    }
+}
@@ -1,42 +1,78 @@
 package de.vfh.paf.tasklist.domain.service;
 
+import de.vfh.paf.tasklist.application.dto.KeysetCursor;
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationStatusChangeDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationSyncDTO;
 import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.model.NotificationStatus;
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for managing notifications.
+ * Duplicates are suppressed through a deduplication key with a unique index: task notifications
+ * are unique per type and task, other notifications per type, user and task while they are unread.
  */
 @Service
 @Transactional
 public class NotificationService {
+    private static final Set<String> TASK_SCOPED_TYPES =
+            Set.of("TASK_OVERDUE", "TASK_STARTED", "TASK_COMPLETED", "TASK_ERROR", "DEADLOCK_DETECTED");
+
     private final TaskRepository taskRepository;
     private final NotificationRepository notificationRepository;
     private final Function<Notification, Boolean> notificationSender;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDelivery dispatcher;
+    private final UnreadCounterService unreadCounters;
+    private final ObjectProvider<ResourceVersions> resourceVersions;
+    // Keys known to be taken, so repeated duplicates (e.g. from the overdue check) skip the database
+    private final RecentKeyCache recentDedupKeys = new RecentKeyCache(10_000, Duration.ofMinutes(10));
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Creates a new notification service with default dependencies.
      *
      * @param taskRepository         The repository for tasks
      * @param notificationRepository The repository for notifications
-     * @param messagingTemplate      The WebSocket messaging template
+     * @param dispatcher             The delivery of notifications to connected clients
+     * @param unreadCounters         The per-user unread notification counters
+     * @param resourceVersions       The ETag versions of the notification lists
      */
     @org.springframework.beans.factory.annotation.Autowired
     public NotificationService(TaskRepository taskRepository,
                                NotificationRepository notificationRepository,
-                               SimpMessagingTemplate messagingTemplate) {
-        this(taskRepository, notificationRepository, Notification::send, messagingTemplate);
+                               NotificationDelivery dispatcher,
+                               UnreadCounterService unreadCounters,
+                               ObjectProvider<ResourceVersions> resourceVersions) {
+        this(taskRepository, notificationRepository, Notification::send, dispatcher, unreadCounters, resourceVersions);
     }
 
     /**
@@ -45,54 +81,76 @@ public class NotificationService {
      * @param taskRepository         The repository for tasks
      * @param notificationRepository The repository for notifications
      * @param notificationSender     The function to send notifications
-     * @param messagingTemplate      The WebSocket messaging template
+     * @param dispatcher             The delivery of notifications to connected clients
+     * @param unreadCounters         The per-user unread notification counters
+     * @param resourceVersions       The ETag versions of the notification lists
      */
     public NotificationService(TaskRepository taskRepository,
                                NotificationRepository notificationRepository,
                                Function<Notification, Boolean> notificationSender,
-                               SimpMessagingTemplate messagingTemplate) {
+                               NotificationDelivery dispatcher,
+                               UnreadCounterService unreadCounters,
+                               ObjectProvider<ResourceVersions> resourceVersions) {
         this.taskRepository = taskRepository;
         this.notificationRepository = notificationRepository;
         this.notificationSender = notificationSender;
-        this.messagingTemplate = messagingTemplate;
+        this.dispatcher = dispatcher;
+        this.unreadCounters = unreadCounters;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Checks for overdue tasks and sends notifications to the assigned users.
-     * Only sends notifications for tasks that haven't been notified yet.
+     * Only tasks that have not been reported as overdue yet are loaded; their notifications are
+     * inserted in one batch and delivered with one WebSocket message per user, so the cost of a
+     * sweep depends on the number of newly overdue tasks, not on all overdue tasks.
      *
      * @return The number of notifications sent
      */
     public int checkAndNotifyOverdueTasks() {
         LocalDateTime now = LocalDateTime.now();
-        List<Task> overdueTasks = taskRepository.findOverdueTasks(now);
-        int notificationsSent = 0;
-
-        for (Task task : overdueTasks) {
-            // Check if there's already an active (unread) notification for this task being overdue
-            // regardless of which user it was sent to
-            List<Notification> existingNotifications = 
-                    notificationRepository.findUnreadByTypeAndRelatedTaskId("TASK_OVERDUE", task.getId());
-
-            // Skip if there's at least one unread overdue notification for this task (for any user)
-            if (!existingNotifications.isEmpty()) {
-                org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
-                    "Skipping notification for overdue task {}: existing unread notification found", task.getId());
-                continue;
-            }
+        List<Task> newlyOverdueTasks = taskRepository.findOverdueTasksWithoutNotification(now, "TASK_OVERDUE");
+        if (newlyOverdueTasks.isEmpty()) {
+            return 0;
+        }
 
+        List<Notification> notifications = new ArrayList<>(newlyOverdueTasks.size());
+        for (Task task : newlyOverdueTasks) {
             String message = String.format("Task '%s' is overdue. Due date was %s",
                     task.getTitle(), task.getDueDate().toString());
-
-            boolean sent = sendNotification("TASK_OVERDUE", "HIGH", task.getAssignedUserId(), message, task.getId());
-            if (sent) {
-                notificationsSent++;
-                org.slf4j.LoggerFactory.getLogger(NotificationService.class).info(
-                    "Sent notification for overdue task {}", task.getId());
+            Notification notification = new Notification(null, message, "HIGH", "TASK_OVERDUE",
+                    task.getAssignedUserId(), task.getId());
+            notification.setDedupKey(taskDedupKey("TASK_OVERDUE", task.getId()));
+            if (notificationSender.apply(notification)) {
+                notifications.add(notification);
             }
         }
 
-        return notificationsSent;
+        // A concurrent sweep may have reported some of the tasks in the meantime; those are skipped
+        List<Notification> inserted = notificationRepository.insertAllIfAbsent(notifications);
+        rememberDedupKeys(notifications.stream().map(Notification::getDedupKey).toList());
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, Integer> unreadDeltas = new HashMap<>();
+        for (Notification notification : inserted) {
+            if (notification.getUserId() != null) {
+                unreadDeltas.merge(notification.getUserId(), 1, Integer::sum);
+            }
+        }
+        unreadCounters.adjustAll(unreadDeltas);
+        unreadDeltas.keySet().forEach(this::notificationsChanged);
+
+        // The dispatcher groups the notifications into one message per destination
+        List<NotificationDTO> dtos = inserted.stream()
+                .filter(notification -> notification.getUserId() != null)
+                .map(NotificationDTO::new)
+                .toList();
+        afterCommit(() -> dispatcher.dispatch(dtos));
+
+        org.slf4j.LoggerFactory.getLogger(NotificationService.class).info(
+            "Sent {} overdue notifications", inserted.size());
+        return inserted.size();
     }
 
     /**
@@ -117,57 +175,36 @@ public class NotificationService {
      * @return true if the notification was sent successfully, false otherwise
      */
     public boolean sendNotification(String type, String urgency, int userId, String message, Integer relatedTaskId) {
-        // For task-related notifications, we need to check if there's already ANY notification
-        // of this type for this task ID (regardless of user or read status) to prevent duplicates
-        if (relatedTaskId != null && (
-                type.equals("TASK_OVERDUE") || 
-                type.equals("TASK_STARTED") || 
-                type.equals("TASK_COMPLETED") || 
-                type.equals("TASK_ERROR") ||
-                type.equals("DEADLOCK_DETECTED"))) {
-                
-            List<Notification> existingTaskNotifications = 
-                    notificationRepository.findByTypeAndRelatedTaskId(type, relatedTaskId);
-                    
-            if (!existingTaskNotifications.isEmpty()) {
-                org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
-                    "Skipping notification of type {} for task {}: notification already exists (read or unread)", 
-                    type, relatedTaskId);
-                return false;
-            }
-        } else {
-            // For user-specific notifications (non-task related), check if the user already 
-            // has an unread notification of this type
-            List<Notification> existingUserNotifications =
-                    notificationRepository.findByTypeAndUserIdAndRelatedTaskId(type, userId, relatedTaskId);
-                    
-            if (existingUserNotifications.stream().anyMatch(n -> !n.isRead())) {
-                return false;
-            }
+        // Task notifications exist at most once per task (regardless of user or read status),
+        // other notifications at most once per user while unread
+        String dedupKey = relatedTaskId != null && TASK_SCOPED_TYPES.contains(type)
+                ? taskDedupKey(type, relatedTaskId)
+                : Notification.UNREAD_DEDUP_PREFIX + type + ":" + userId + ":" + (relatedTaskId != null ? relatedTaskId : "-");
+        if (recentDedupKeys.contains(dedupKey)) {
+            org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
+                "Skipping notification of type {} for user {}: recently sent", type, userId);
+            return false;
         }
 
-        // Create notification in CREATED state - let JPA generate the ID
+        // Create notification in CREATED state - let the database generate the ID
         Notification notification = new Notification(null, message, urgency, type, userId, relatedTaskId);
+        notification.setDedupKey(dedupKey);
 
         // Use the notificationSender to send and transition to SENT state
         boolean sent = notificationSender.apply(notification);
 
         if (sent) {
-            // Save to repository
-            Notification savedNotification = notificationRepository.save(notification);
-
-            // Send WebSocket notification - use NotificationDTO directly
-            NotificationDTO dto = new NotificationDTO(savedNotification);
+            if (!insertDeduplicated(notification)) {
+                org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
+                    "Skipping notification of type {} for user {}: notification already exists", type, userId);
+                return false;
+            }
 
-            // Send to topic for general notifications
-            messagingTemplate.convertAndSend("/topic/notifications", dto);
+            unreadCounters.adjust(userId, 1);
 
-            // Send to user-specific channel
-            messagingTemplate.convertAndSendToUser(
-                    String.valueOf(userId),
-                    "/queue/notifications",
-                    dto
-            );
+            // Send to the general topic and the user-specific channel - use NotificationDTO directly
+            NotificationDTO dto = new NotificationDTO(notification);
+            afterCommit(() -> dispatcher.dispatch(List.of(dto)));
         }
 
         return sent;
@@ -183,41 +220,29 @@ public class NotificationService {
      * @return true if the notification was sent successfully
      */
     public boolean broadcastSystemNotification(String type, String message, String urgency, Integer relatedTaskId) {
-        // For task-related system notifications, check if there's already ANY notification
-        // with this type and task ID (regardless of read status) to prevent duplicates
-        if (relatedTaskId != null) {
-            List<Notification> existingTaskNotifications = 
-                    notificationRepository.findByTypeAndRelatedTaskId(type, relatedTaskId);
-                    
-            if (!existingTaskNotifications.isEmpty()) {
-                org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
-                    "Skipping system broadcast of type {} for task {}: notification already exists (read or unread)", 
-                    type, relatedTaskId);
-                return false;
-            }
-        } else {
-            // For non-task related system broadcasts, check if there's any unread notification of this type
-            List<Notification> existingNotifications =
-                    notificationRepository.findByTypeAndReadStatus(type, false);
-                    
-            // Only send if there are no unread notifications of this type
-            if (!existingNotifications.isEmpty()) {
-                org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
-                    "Skipping system broadcast of type {}: existing unread notification found", type);
-                return false;
-            }
+        // Task-related broadcasts exist at most once per task (regardless of read status),
+        // other broadcasts at most once per type while unread
+        String dedupKey = relatedTaskId != null
+                ? taskDedupKey(type, relatedTaskId)
+                : Notification.UNREAD_DEDUP_PREFIX + type + ":system";
+        if (recentDedupKeys.contains(dedupKey)) {
+            return false;
         }
 
         Notification notification = new Notification(null, message, urgency, type, 0, relatedTaskId); // System user ID is 0
+        notification.setDedupKey(dedupKey);
 
-        // Save to repository
-        Notification savedNotification = notificationRepository.save(notification);
+        if (!insertDeduplicated(notification)) {
+            org.slf4j.LoggerFactory.getLogger(NotificationService.class).debug(
+                "Skipping system broadcast of type {}: notification already exists", type);
+            return false;
+        }
 
-        // Create DTO for WebSocket - use NotificationDTO directly
-        NotificationDTO dto = new NotificationDTO(savedNotification);
+        unreadCounters.adjust(0, 1);
 
-        // Broadcast to all connected clients
-        messagingTemplate.convertAndSend("/topic/system", dto);
+        // Broadcast to all connected clients - use NotificationDTO directly
+        NotificationDTO dto = new NotificationDTO(notification);
+        afterCommit(() -> dispatcher.dispatchSystem(dto));
 
         return true;
     }
@@ -241,6 +266,34 @@ public class NotificationService {
         return notificationRepository.findAll();
     }
 
+    /**
+     * Passes all notifications, ordered by ID, to the consumer in chunks read from a database cursor.
+     * Each chunk is detached from the persistence context once consumed, so memory use stays
+     * constant regardless of the number of notifications.
+     *
+     * @param chunkSize The number of notifications per chunk
+     * @param consumer  The consumer receiving each chunk
+     */
+    @Transactional(readOnly = true)
+    public void exportInChunks(int chunkSize, Consumer<List<Notification>> consumer) {
+        List<Notification> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Notification> notifications = notificationRepository.streamAll()) {
+            Iterator<Notification> iterator = notifications.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(chunk);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+            entityManager.clear();
+        }
+    }
+
     /**
      * Finds all notifications for a user.
      *
@@ -262,6 +315,76 @@ public class NotificationService {
         return notificationRepository.findByUserIdAndReadStatus(userId, read);
     }
     
+    /**
+     * Finds one page of notifications, newest first, optionally filtered by user and read status.
+     *
+     * @param userId The ID of the user to filter by (may be null)
+     * @param read   The read status to filter by (may be null; only applied together with a user)
+     * @param before The cursor returned with the previous page, or null for the first page
+     * @param limit  The maximum number of notifications to return
+     * @return The page of notifications and the cursor for the next page
+     */
+    public KeysetPage<Notification> findPage(Integer userId, Boolean read, KeysetCursor before, int limit) {
+        // Sorts after every real creation time and is still representable in all supported databases
+        KeysetCursor cursor = before != null ? before : new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Integer.MAX_VALUE);
+        // Fetch one extra row to find out whether there is a next page
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+
+        List<Notification> notifications;
+        if (userId != null && read != null) {
+            notifications = notificationRepository.findPageByUserIdAndReadStatusBefore(userId, read, cursor.requireSortKey(), cursor.id(), pageRequest);
+        } else if (userId != null) {
+            notifications = notificationRepository.findPageByUserIdBefore(userId, cursor.requireSortKey(), cursor.id(), pageRequest);
+        } else {
+            notifications = notificationRepository.findPageBefore(cursor.requireSortKey(), cursor.id(), pageRequest);
+        }
+
+        if (notifications.size() <= limit) {
+            return new KeysetPage<>(notifications, null);
+        }
+        List<Notification> page = notifications.subList(0, limit);
+        Notification last = page.getLast();
+        return new KeysetPage<>(page, new KeysetCursor(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Finds the notifications a client has not seen yet.
+     * Without a last-seen ID only the most recent notifications are returned; older ones can be
+     * paged in through the REST API.
+     *
+     * @param userId     The ID of the user
+     * @param lastSeenId The ID of the newest notification the client has (may be null)
+     * @param limit      The maximum number of notifications to return
+     * @return The new notifications, the cursor for the next sync and the unread count
+     */
+    @Transactional(readOnly = true)
+    public NotificationSyncDTO syncSince(int userId, Integer lastSeenId, int limit) {
+        // Fetch one extra row to find out whether there are more
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+        List<Notification> notifications;
+        boolean hasMore;
+        if (lastSeenId != null) {
+            notifications = notificationRepository.findByUserIdAfter(userId, lastSeenId, pageRequest);
+            hasMore = notifications.size() > limit;
+            if (hasMore) {
+                notifications = notifications.subList(0, limit);
+            }
+        } else {
+            notifications = new ArrayList<>(notificationRepository.findLatestByUserId(userId, pageRequest));
+            hasMore = false;
+            if (notifications.size() > limit) {
+                notifications.removeLast();
+            }
+            notifications = notifications.reversed();
+        }
+
+        int cursor = notifications.isEmpty()
+                ? (lastSeenId != null ? lastSeenId : 0)
+                : notifications.getLast().getId();
+        List<NotificationDTO> dtos = notifications.stream().map(NotificationDTO::new).toList();
+        return new NotificationSyncDTO(userId, dtos, cursor, unreadCounters.getUnreadCount(userId), hasMore);
+    }
+
     /**
      * Finds notifications of a specific type with a specific read status.
      *
@@ -288,13 +411,136 @@ public class NotificationService {
         }
 
         Notification notification = optionalNotification.get();
+        String dedupKey = notification.getDedupKey();
         boolean marked = notification.markAsRead();
         if (marked) {
             notificationRepository.save(notification);
+            unreadCounters.adjust(userId, -1);
+            if (dedupKey != null && notification.getDedupKey() == null) {
+                recentDedupKeys.remove(dedupKey);
+            }
         }
         return notification;
     }
 
+    /**
+     * Marks all unread notifications of a user as read with a single update.
+     *
+     * @param userId The ID of the user
+     * @return The number of notifications marked as read
+     */
+    public int markAllAsRead(int userId) {
+        List<String> releasedKeys = notificationRepository.findReleasableDedupKeys(userId);
+        int updated = notificationRepository.markAllReadByUserId(userId, LocalDateTime.now());
+        afterBulkRead(userId, null, updated, releasedKeys);
+        return updated;
+    }
+
+    /**
+     * Marks several notifications of a user as read with a single update.
+     * IDs of notifications that belong to other users or are already read are ignored.
+     *
+     * @param userId          The ID of the user
+     * @param notificationIds The IDs of the notifications
+     * @return The number of notifications marked as read
+     */
+    public int markAsRead(int userId, Collection<Integer> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<String> releasedKeys = notificationRepository.findReleasableDedupKeysByIds(userId, notificationIds);
+        int updated = notificationRepository.markReadByUserIdAndIds(userId, notificationIds, LocalDateTime.now());
+        afterBulkRead(userId, List.copyOf(notificationIds), updated, releasedKeys);
+        return updated;
+    }
+
+    /**
+     * Archives the read notifications of a user with a single update.
+     *
+     * @param userId     The ID of the user
+     * @param readBefore Only notifications read before this time are archived
+     * @return The number of archived notifications
+     */
+    public int archiveRead(int userId, LocalDateTime readBefore) {
+        int updated = notificationRepository.archiveReadByUserId(userId, readBefore);
+        if (updated > 0) {
+            notificationsChanged(userId);
+            // Only read notifications can be archived, so the unread count does not change
+            afterCommit(() -> dispatcher.dispatchStatusChange(
+                    new NotificationStatusChangeDTO(userId, NotificationStatus.ARCHIVED.name(), null, updated)));
+        }
+        return updated;
+    }
+
+    private void afterBulkRead(int userId, List<Integer> notificationIds, int updated, List<String> releasedKeys) {
+        if (!releasedKeys.isEmpty()) {
+            notificationRepository.releaseDedupKeys(releasedKeys);
+            releasedKeys.forEach(recentDedupKeys::remove);
+        }
+        if (updated > 0) {
+            notificationsChanged(userId);
+            unreadCounters.adjust(userId, -updated);
+            afterCommit(() -> dispatcher.dispatchStatusChange(
+                    new NotificationStatusChangeDTO(userId, NotificationStatus.READ.name(), notificationIds, updated)));
+        }
+    }
+
+    /**
+     * Inserts a notification unless its deduplication key is already taken.
+     *
+     * @param notification The notification to insert
+     * @return true if the notification was inserted
+     */
+    private boolean insertDeduplicated(Notification notification) {
+        boolean inserted = notificationRepository.insertIfAbsent(notification);
+        rememberDedupKeys(List.of(notification.getDedupKey()));
+        if (inserted && notification.getUserId() != null) {
+            notificationsChanged(notification.getUserId());
+        }
+        return inserted;
+    }
+
+    /**
+     * Records a change of a user's notifications made without JPA entity events (bulk updates, JDBC inserts).
+     *
+     * @param userId The ID of the user
+     */
+    private void notificationsChanged(int userId) {
+        resourceVersions.ifAvailable(versions -> versions.changed(ResourceVersions.notificationsOf(userId)));
+    }
+
+    /**
+     * Remembers deduplication keys as taken once the current transaction commits.
+     *
+     * @param dedupKeys The keys
+     */
+    private void rememberDedupKeys(List<String> dedupKeys) {
+        afterCommit(() -> dedupKeys.forEach(recentDedupKeys::add));
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away without a transaction.
+     * Clients must not be told about changes that may still be rolled back.
+     *
+     * @param action The action
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String taskDedupKey(String type, int relatedTaskId) {
+        return "task:" + type + ":" + relatedTaskId;
+    }
+
     /**
      * Sets a custom notification sender function.
      * Used mainly for testing to override the default notification sender.
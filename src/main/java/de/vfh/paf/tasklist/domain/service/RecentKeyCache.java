@@ -0,0 +1,82 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small, bounded cache of recently seen keys.
+ * Used to answer "does this key already exist?" without a database round trip. Entries expire
+ * after a fixed time and the least recently used entries are evicted once the capacity is reached,
+ * so a stale entry can only suppress work for a limited time.
+ */
+class RecentKeyCache {
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Long> expiries;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity The maximum number of keys to keep
+     * @param ttl      How long a key is remembered
+     */
+    RecentKeyCache(int capacity, Duration ttl) {
+        this(capacity, ttl, Clock.systemUTC());
+    }
+
+    RecentKeyCache(int capacity, Duration ttl, Clock clock) {
+        this.capacity = capacity;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.expiries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > RecentKeyCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Remembers a key.
+     *
+     * @param key The key
+     */
+    synchronized void add(String key) {
+        expiries.put(key, clock.millis() + ttlMillis);
+    }
+
+    /**
+     * Checks whether a key has been seen recently.
+     *
+     * @param key The key
+     * @return true if the key was added and has not expired or been removed since
+     */
+    synchronized boolean contains(String key) {
+        Long expiry = expiries.get(key);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry <= clock.millis()) {
+            expiries.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets a key.
+     *
+     * @param key The key
+     */
+    synchronized void remove(String key) {
+        expiries.remove(key);
+    }
+
+    synchronized int size() {
+        return expiries.size();
+    }
+}
@@ -0,0 +1,172 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import de.vfh.paf.tasklist.domain.report.LatencyHistogram;
+import de.vfh.paf.tasklist.domain.report.NotificationReportRow;
+import de.vfh.paf.tasklist.domain.report.ReportAggregator;
+import de.vfh.paf.tasklist.domain.report.ResultReportRow;
+import de.vfh.paf.tasklist.domain.report.TaskReportRow;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service that generates reports from the live task, notification and result data.
+ * All tables are read through streaming projections and folded into a {@link ReportAggregator}
+ * in a single pass, so report generation runs in constant memory regardless of table size.
+ * Sections are written to the target writer as soon as their data has been aggregated.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int TOP_USERS = 10;
+
+    private final TaskRepository taskRepository;
+    private final NotificationRepository notificationRepository;
+    private final TaskResultRepository taskResultRepository;
+
+    /**
+     * Creates a new report service.
+     *
+     * @param taskRepository         The repository for tasks
+     * @param notificationRepository The repository for notifications
+     * @param taskResultRepository   The repository for task results
+     */
+    public ReportService(TaskRepository taskRepository,
+                         NotificationRepository notificationRepository,
+                         TaskResultRepository taskResultRepository) {
+        this.taskRepository = taskRepository;
+        this.notificationRepository = notificationRepository;
+        this.taskResultRepository = taskResultRepository;
+    }
+
+    /**
+     * Writes a report of the given type.
+     * "Tasks" and "Performance" only cover tasks, "Notifications" only covers notifications,
+     * "Results" only covers task results; any other type produces a full summary.
+     *
+     * @param reportType  The report type
+     * @param requestedBy The user that requested the report (may be null)
+     * @param out         The writer to write the report to
+     * @throws IOException If writing to the target fails
+     */
+    public void writeReport(String reportType, Integer requestedBy, Writer out) throws IOException {
+        long start = System.nanoTime();
+        ReportAggregator aggregator = new ReportAggregator();
+        LocalDateTime now = LocalDateTime.now();
+
+        out.write("=== " + reportType + " Report ===\n");
+        out.write("Generated: " + now.format(FORMATTER) + "\n");
+        out.write("Requested by User: " + requestedBy + "\n");
+
+        boolean full = !isOneOf(reportType, "Tasks", "Performance", "Notifications", "Results");
+
+        if (full || isOneOf(reportType, "Tasks", "Performance")) {
+            try (Stream<TaskReportRow> rows = taskRepository.streamReportRows()) {
+                rows.forEach(row -> aggregator.acceptTask(row, now));
+            }
+            writeTaskSection(aggregator, out);
+            out.flush();
+        }
+
+        if (full || isOneOf(reportType, "Notifications")) {
+            try (Stream<NotificationReportRow> rows = notificationRepository.streamReportRows()) {
+                rows.forEach(aggregator::acceptNotification);
+            }
+            writeNotificationSection(aggregator, out);
+            out.flush();
+        }
+
+        if (full || isOneOf(reportType, "Results")) {
+            try (Stream<ResultReportRow> rows = taskResultRepository.streamReportRows()) {
+                rows.forEach(aggregator::acceptResult);
+            }
+            writeResultSection(aggregator, out);
+            out.flush();
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        out.write("\nGenerated in " + elapsedMillis + " ms\n");
+        out.flush();
+        logger.info("Generated {} report over {} tasks, {} notifications and {} results in {} ms",
+                reportType, aggregator.getTaskCount(), aggregator.getNotificationCount(),
+                aggregator.getResultCount(), elapsedMillis);
+    }
+
+    private void writeTaskSection(ReportAggregator aggregator, Writer out) throws IOException {
+        out.write("\nTasks\n");
+        out.write("  Total: " + aggregator.getTaskCount() + "\n");
+        out.write("  Overdue: " + aggregator.getOverdueCount() + "\n");
+
+        out.write("  By status:\n");
+        for (TaskStatus status : TaskStatus.values()) {
+            out.write("    " + status + ": " + aggregator.getTasksByStatus().getOrDefault(status, 0L) + "\n");
+        }
+
+        out.write("  By type:\n");
+        writeCounts(aggregator.getTasksByType(), out);
+
+        out.write("  Top users (" + aggregator.getDistinctUsers() + " with tasks):\n");
+        for (Map.Entry<Integer, Long> entry : aggregator.topUsers(TOP_USERS)) {
+            out.write("    User " + entry.getKey() + ": " + entry.getValue() + "\n");
+        }
+
+        LatencyHistogram latency = aggregator.getCompletionLatency();
+        out.write("  Completion latency (" + latency.getCount() + " completed):\n");
+        if (latency.getCount() > 0) {
+            out.write("    min: " + latency.getMin() + " ms\n");
+            out.write(String.format("    mean: %.1f ms%n", latency.getMean()));
+            out.write("    p50: " + latency.percentile(50) + " ms\n");
+            out.write("    p95: " + latency.percentile(95) + " ms\n");
+            out.write("    p99: " + latency.percentile(99) + " ms\n");
+            out.write("    max: " + latency.getMax() + " ms\n");
+        }
+    }
+
+    private void writeNotificationSection(ReportAggregator aggregator, Writer out) throws IOException {
+        out.write("\nNotifications\n");
+        out.write("  Total: " + aggregator.getNotificationCount() + "\n");
+        out.write("  By type:\n");
+        writeCounts(aggregator.getNotificationsByType(), out);
+        out.write("  By status:\n");
+        writeCounts(aggregator.getNotificationsByStatus(), out);
+    }
+
+    private void writeResultSection(ReportAggregator aggregator, Writer out) throws IOException {
+        out.write("\nResults\n");
+        out.write("  Total: " + aggregator.getResultCount() + "\n");
+        out.write("  Content size: " + aggregator.getResultSize() + " bytes\n");
+        if (aggregator.getResultCount() > 0) {
+            out.write("  Average size: " + aggregator.getResultSize() / aggregator.getResultCount() + " bytes\n");
+        }
+    }
+
+    private void writeCounts(Map<String, Long> counts, Writer out) throws IOException {
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            out.write("    " + entry.getKey() + ": " + entry.getValue() + "\n");
+        }
+    }
+
+    private static boolean isOneOf(String value, String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,53 +1,90 @@
 package de.vfh.paf.tasklist.domain.service;
 
 import de.vfh.paf.tasklist.domain.model.RunnableTask;
-import de.vfh.paf.tasklist.domain.tasks.CalculatePiTask;
-import de.vfh.paf.tasklist.domain.tasks.GenerateReportTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * Factory for all available task types.
- * This service maintains a registry of suppliers for task types
- * that can be executed by the system. Each call to getTaskType() returns a new instance.
+ * Registry of all available task types.
+ * Task types are discovered once at startup: implementations of {@link RunnableTask} listed in
+ * {@code META-INF/services/de.vfh.paf.tasklist.domain.model.RunnableTask} and Spring beans implementing
+ * it (which take precedence). Each type is instantiated once and its metadata is kept, so
+ * {@link #getTaskType(String)} is a plain map lookup and listing the types creates no instances.
  */
 @Service
 public class TaskFactory {
+    private static final Logger logger = LoggerFactory.getLogger(TaskFactory.class);
 
-    private final Map<String, Supplier<? extends RunnableTask>> taskTypesRegistry = new HashMap<>();
+    private final Map<String, RegisteredTaskType> taskTypesRegistry = new ConcurrentHashMap<>();
+    private volatile List<TaskTypeMetadata> metadata = List.of();
 
     /**
-     * Initializes the factory with available task types.
+     * Initializes the factory with the discovered task types.
+     *
+     * @param taskBeans Task types defined as Spring beans
+     */
+    public TaskFactory(ObjectProvider<RunnableTask> taskBeans) {
+        ServiceLoader<RunnableTask> loader = ServiceLoader.load(RunnableTask.class, TaskFactory.class.getClassLoader());
+        for (ServiceLoader.Provider<RunnableTask> provider : loader.stream().toList()) {
+            try {
+                registerTaskType(provider.get());
+            } catch (ServiceConfigurationError e) {
+                logger.warn("Could not load task type {}: {}", provider.type().getName(), e.getMessage());
+            }
+        }
+        taskBeans.orderedStream().forEach(this::registerTaskType);
+        logger.info("Registered task types: {}", taskTypesRegistry.keySet());
+    }
+
+    /**
+     * Registers a task type under its class name, replacing an earlier registration.
+     *
+     * @param taskType The shared, stateless instance of the task type.
      */
-    public TaskFactory() {
-        // Register available task types using their suppliers
-        registerTaskType(CalculatePiTask.class.getName(), CalculatePiTask::new);
-        registerTaskType(GenerateReportTask.class.getName(), GenerateReportTask::new);
+    public void registerTaskType(RunnableTask taskType) {
+        registerTaskType(taskType.getClass().getName(), taskType);
     }
 
     /**
-     * Registers a new task type supplier.
+     * Registers a new task type supplier. The supplier is called once; the instance is shared.
      *
      * @param className The fully qualified class name of the task.
-     * @param supplier  A supplier that produces new instances of the task.
+     * @param supplier  A supplier that produces the instance of the task.
      */
     public void registerTaskType(String className, Supplier<? extends RunnableTask> supplier) {
-        taskTypesRegistry.put(className, supplier);
+        registerTaskType(className, supplier.get());
     }
 
     /**
-     * Gets a new task implementation instance by its class name.
+     * Gets the task implementation by its class name.
+     * The instance is shared between all executions of the type.
      *
      * @param className The fully qualified class name of the task.
-     * @return A new instance of the task implementation, or null if not found.
+     * @return The instance of the task implementation, or null if not found.
      */
     public RunnableTask getTaskType(String className) {
-        Supplier<? extends RunnableTask> supplier = taskTypesRegistry.get(className);
-        return supplier != null ? supplier.get() : null;
+        RegisteredTaskType registered = taskTypesRegistry.get(className);
+        return registered != null ? registered.instance() : null;
+    }
+
+    /**
+     * Gets the metadata of all available task types, sorted by name.
+     *
+     * @return Immutable list of the task types.
+     */
+    public List<TaskTypeMetadata> getTaskTypeMetadata() {
+        return metadata;
     }
 
     /**
@@ -56,10 +93,33 @@ public class TaskFactory {
      * @return Map of class name to friendly task name.
      */
     public Map<String, String> getTaskTypeMap() {
-        return taskTypesRegistry.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Map.Entry::getKey,
-                        entry -> entry.getValue().get().getName()
-                ));
+        return metadata.stream()
+                .collect(Collectors.toMap(TaskTypeMetadata::className, TaskTypeMetadata::name));
+    }
+
+    private synchronized void registerTaskType(String className, RunnableTask taskType) {
+        TaskTypeMetadata taskTypeMetadata = new TaskTypeMetadata(className, taskType.getClass(), taskType.getName(),
+                taskType.getDescription(), Map.copyOf(taskType.getParameters()));
+        taskTypesRegistry.put(className, new RegisteredTaskType(taskType, taskTypeMetadata));
+        metadata = taskTypesRegistry.values().stream()
+                .map(RegisteredTaskType::metadata)
+                .sorted(Comparator.comparing(TaskTypeMetadata::name).thenComparing(TaskTypeMetadata::className))
+                .toList();
+    }
+
+    /**
+     * Immutable description of a task type, read once at registration.
+     *
+     * @param className           The class name tasks refer to the type by
+     * @param implementationClass The class implementing the task
+     * @param name                Human-readable name
+     * @param description         What the task does
+     * @param parameters          Parameters read from the task description, by name
+     */
+    public record TaskTypeMetadata(String className, Class<? extends RunnableTask> implementationClass, String name,
+                                   String description, Map<String, String> parameters) {
+    }
+
+    private record RegisteredTaskType(RunnableTask instance, TaskTypeMetadata metadata) {
     }
-}
\ No newline at end of file
+}
@@ -5,9 +5,11 @@ import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.model.TaskQueue;
 import de.vfh.paf.tasklist.domain.model.TaskResult;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
 import de.vfh.paf.tasklist.presentation.websocket.TaskWebSocketController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -30,6 +32,7 @@ public class TaskQueueService {
     private final Map<Integer, Map<Integer, TaskResult>> queueProcessedTasks = new ConcurrentHashMap<>();
     private final AtomicInteger queueIdGenerator = new AtomicInteger(1);
     private final AtomicInteger resultIdGenerator = new AtomicInteger(1);
+    private final ObjectProvider<ResourceVersions> resourceVersions;
     private TaskWebSocketController taskWebSocketController; // Not final to allow setter injection
 
     /**
@@ -37,11 +40,14 @@ public class TaskQueueService {
      *
      * @param taskRepository       The repository for tasks
      * @param taskResultRepository The repository for task results
+     * @param resourceVersions     The ETag versions of the queue list
      */
     @org.springframework.beans.factory.annotation.Autowired
-    public TaskQueueService(TaskRepository taskRepository, de.vfh.paf.tasklist.domain.repository.TaskResultRepository taskResultRepository) {
+    public TaskQueueService(TaskRepository taskRepository, de.vfh.paf.tasklist.domain.repository.TaskResultRepository taskResultRepository,
+                            ObjectProvider<ResourceVersions> resourceVersions) {
         this.taskRepository = taskRepository;
         this.taskResultRepository = taskResultRepository;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -65,6 +71,7 @@ public class TaskQueueService {
         TaskQueue queue = new TaskQueue(id, name);
         queues.put(id, queue);
         queueProcessedTasks.put(id, new ConcurrentHashMap<>());
+        queuesChanged();
 
         // Notify clients about queue creation (if WebSocket controller is available)
         if (taskWebSocketController != null) {
@@ -94,6 +101,7 @@ public class TaskQueueService {
         Task task = optionalTask.get();
         queue.enqueueTask(task);
         taskRepository.save(task);
+        queuesChanged();
 
         // Notify clients that a task has been added to the queue (if WebSocket controller is available)
         if (taskWebSocketController != null) {
@@ -127,6 +135,7 @@ public class TaskQueueService {
             logger.error("executeNextTask: Task {} (ID: {}) could not transition to status RUNNING.", task.getTitle(), task.getId());
         }
         taskRepository.save(task);
+        queuesChanged();
 
         // Notify that task status is now RUNNING (if WebSocket controller is available)
         if (taskWebSocketController != null) {
@@ -153,6 +162,7 @@ public class TaskQueueService {
             if (queueProcessedTasks.containsKey(queueId)) {
                 queueProcessedTasks.get(queueId).put(task.getId(), result);
             }
+            queuesChanged();
 
             // Notify that task is now DONE with result (if WebSocket controller is available)
             if (taskWebSocketController != null) {
@@ -187,11 +197,24 @@ public class TaskQueueService {
             futures.add(executeNextTask(queueId, taskProcessor));
         }
 
+        queuesChanged();
+
         // Combine all futures into a single future that completes when all tasks are done
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> futures.stream()
-                        .map(CompletableFuture::join)
-                        .collect(Collectors.toList()));
+                .thenApply(v -> {
+                    queuesChanged();
+                    return futures.stream()
+                            .map(CompletableFuture::join)
+                            .collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Records a change of the in-memory queues, which entity events do not see.
+     * Task changes made along the way advance the task version on their own.
+     */
+    private void queuesChanged() {
+        resourceVersions.ifAvailable(versions -> versions.changed(ResourceVersions.QUEUES));
     }
 
     /**
@@ -254,4 +277,24 @@ public class TaskQueueService {
 
         return allTasks;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the IDs of all tasks associated with a queue, including current and processed ones.
+     *
+     * @param queueId The ID of the queue
+     * @return The task IDs, or an empty set if the queue does not exist
+     */
+    public Set<Integer> getAllQueueTaskIds(int queueId) {
+        TaskQueue queue = queues.get(queueId);
+        if (queue == null) {
+            return Set.of();
+        }
+
+        Set<Integer> taskIds = new LinkedHashSet<>();
+        for (Task task : queue.getTasks()) {
+            taskIds.add(task.getId());
+        }
+        taskIds.addAll(queueProcessedTasks.getOrDefault(queueId, Map.of()).keySet());
+        return taskIds;
+    }
+}
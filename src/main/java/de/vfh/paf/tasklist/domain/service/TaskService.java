@@ -1,14 +1,24 @@
 package de.vfh.paf.tasklist.domain.service;
 
+import de.vfh.paf.tasklist.application.dto.KeysetCursor;
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.domain.model.TaskStatus;
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskSortKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for managing tasks.
@@ -16,8 +26,17 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class TaskService {
+    // Keeps IN lists well below the bind parameter limits of common databases
+    private static final int ID_BATCH_SIZE = 1000;
+
+    // Sorts before every real due date and is still representable in all supported databases
+    private static final KeysetCursor FIRST_PAGE = new KeysetCursor(LocalDateTime.of(1, 1, 1, 0, 0), 0);
+
     private final TaskRepository taskRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Creates a new task service.
      */
@@ -93,15 +112,11 @@ public class TaskService {
     public Optional<Task> findById(int taskId) {
         Optional<Task> taskOptional = taskRepository.findById(taskId);
 
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            // Load the task result if available
-            List<de.vfh.paf.tasklist.domain.model.TaskResult> results = taskResultRepository.findByTaskId(task.getId());
-            if (!results.isEmpty()) {
-                // Get the most recent result (assuming it's the relevant one)
-                task.setResult(results.getFirst());
-            }
-        }
+        // Only completed tasks have results, so skip the lookup for all others
+        taskOptional
+                .filter(task -> task.getStatus() == TaskStatus.DONE)
+                .ifPresent(task -> taskResultRepository.findFirstByTaskIdOrderByIdDesc(task.getId())
+                        .ifPresent(task::setResult));
 
         return taskOptional;
     }
@@ -242,18 +257,175 @@ public class TaskService {
      */
     public List<Task> findAll() {
         List<Task> tasks = taskRepository.findAll();
+        attachResults(tasks);
+        return tasks;
+    }
+
+    /**
+     * Passes all tasks, ordered by ID, to the consumer in chunks read from a database cursor.
+     * Results are attached per chunk, and each chunk is detached from the persistence context
+     * once consumed, so memory use stays constant regardless of the number of tasks.
+     * Tasks, their dependencies and results bypass the second-level cache, which only holds the
+     * frequently read entries and would otherwise be flushed by every export.
+     * The consumer must not keep references to the tasks or access lazy data after returning.
+     *
+     * @param chunkSize The number of tasks per chunk
+     * @param consumer  The consumer receiving each chunk
+     */
+    @Transactional(readOnly = true)
+    public void exportInChunks(int chunkSize, Consumer<List<Task>> consumer) {
+        // Also covers the dependency collections, which are loaded lazily outside the streaming query
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            List<Task> chunk = new ArrayList<>(chunkSize);
+            try (Stream<Task> tasks = taskRepository.streamAll()) {
+                Iterator<Task> iterator = tasks.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == chunkSize) {
+                        consumeChunk(chunk, consumer);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumeChunk(chunk, consumer);
+            }
+        } finally {
+            session.setCacheMode(previousCacheMode);
+        }
+    }
+
+    private void consumeChunk(List<Task> chunk, Consumer<List<Task>> consumer) {
+        attachResults(chunk, taskResultRepository::findLatestByTaskIdsUncached);
+        consumer.accept(chunk);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    /**
+     * Loads the latest result of every completed task in the list with one query per
+     * {@value #ID_BATCH_SIZE} tasks, instead of one query per task.
+     *
+     * @param tasks The tasks to attach results to
+     */
+    private void attachResults(List<Task> tasks) {
+        attachResults(tasks, taskResultRepository::findLatestByTaskIds);
+    }
 
-        // Load results for completed tasks
+    private void attachResults(List<Task> tasks,
+                               Function<Collection<Integer>, List<de.vfh.paf.tasklist.domain.model.TaskResult>> lookup) {
+        Map<Integer, Task> doneTasks = new HashMap<>();
         for (Task task : tasks) {
             if (task.getStatus() == TaskStatus.DONE) {
-                List<de.vfh.paf.tasklist.domain.model.TaskResult> results = taskResultRepository.findByTaskId(task.getId());
-                if (!results.isEmpty()) {
-                    task.setResult(results.getFirst());
-                }
+                doneTasks.put(task.getId(), task);
             }
         }
 
-        return tasks;
+        List<Integer> ids = new ArrayList<>(doneTasks.keySet());
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            for (de.vfh.paf.tasklist.domain.model.TaskResult result : lookup.apply(batch)) {
+                doneTasks.get(result.getTaskId()).setResult(result);
+            }
+        }
+    }
+
+    /**
+     * Finds one page of tasks ordered by due date and ID, optionally filtered by user and status.
+     *
+     * @param userId     The ID of the user to filter by (may be null)
+     * @param taskStatus The status to filter by (may be null)
+     * @param after      The cursor returned with the previous page, or null for the first page
+     * @param limit      The maximum number of tasks to return
+     * @return The page of tasks and the cursor for the next page
+     */
+    public KeysetPage<Task> findPage(Integer userId, TaskStatus taskStatus, KeysetCursor after, int limit) {
+        KeysetCursor cursor = after != null ? after : FIRST_PAGE;
+        // Fetch one extra ID to find out whether there is a next page
+        PageRequest pageRequest = PageRequest.ofSize(limit + 1);
+
+        List<Integer> ids;
+        if (userId != null && taskStatus != null) {
+            ids = taskRepository.findPageIdsByAssignedUserIdAndTaskStatus(userId, taskStatus, cursor.requireSortKey(), cursor.id(), pageRequest);
+        } else if (taskStatus != null) {
+            ids = taskRepository.findPageIdsByTaskStatus(taskStatus, cursor.requireSortKey(), cursor.id(), pageRequest);
+        } else if (userId != null) {
+            ids = taskRepository.findPageIdsByAssignedUserId(userId, cursor.requireSortKey(), cursor.id(), pageRequest);
+        } else {
+            ids = taskRepository.findPageIds(cursor.requireSortKey(), cursor.id(), pageRequest);
+        }
+
+        return loadPage(ids, limit);
+    }
+
+    /**
+     * Finds one page of tasks among a given set of tasks (e.g. the contents of a queue),
+     * ordered by due date and ID.
+     * Large sets are queried in batches of {@value #ID_BATCH_SIZE} IDs; each batch contributes
+     * at most one page, and the pages are merged by due date.
+     *
+     * @param taskIds    The candidate task IDs
+     * @param taskStatus The status to filter by (may be null)
+     * @param after      The cursor returned with the previous page, or null for the first page
+     * @param limit      The maximum number of tasks to return
+     * @return The page of tasks and the cursor for the next page
+     */
+    public KeysetPage<Task> findPageAmong(Collection<Integer> taskIds, TaskStatus taskStatus, KeysetCursor after, int limit) {
+        if (taskIds.isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+        KeysetCursor cursor = after != null ? after : FIRST_PAGE;
+        Collection<TaskStatus> statuses = taskStatus != null ? List.of(taskStatus) : List.of(TaskStatus.values());
+        List<Integer> candidates = List.copyOf(taskIds);
+        List<TaskSortKey> keys = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += ID_BATCH_SIZE) {
+            List<Integer> batch = candidates.subList(from, Math.min(from + ID_BATCH_SIZE, candidates.size()));
+            keys.addAll(taskRepository.findPageKeysByIdIn(batch, statuses, cursor.requireSortKey(), cursor.id(),
+                    PageRequest.ofSize(limit + 1)));
+        }
+        List<Integer> ids = keys.stream()
+                .sorted(Comparator.comparing(TaskSortKey::dueDate).thenComparing(TaskSortKey::id))
+                .limit(limit + 1L)
+                .map(TaskSortKey::id)
+                .toList();
+        return loadPage(ids, limit);
+    }
+
+    /**
+     * Loads the tasks of a page selected by one of the keyset ID queries, keeping the order of the IDs.
+     *
+     * @param ids   The selected IDs, possibly including one more than the page size
+     * @param limit The page size
+     * @return The page of tasks and the cursor for the next page
+     */
+    private KeysetPage<Task> loadPage(List<Integer> ids, int limit) {
+        boolean hasMore = ids.size() > limit;
+        List<Integer> pageIds = hasMore ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        Map<Integer, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findAllWithDependenciesByIdIn(pageIds)) {
+            byId.put(task.getId(), task);
+        }
+        List<Task> tasks = new ArrayList<>(pageIds.size());
+        for (Integer id : pageIds) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        attachResults(tasks);
+
+        KeysetCursor next = null;
+        if (hasMore && !tasks.isEmpty()) {
+            Task last = tasks.getLast();
+            next = new KeysetCursor(last.getDueDate(), last.getId());
+        }
+        return new KeysetPage<>(tasks, next);
     }
 
     /**
@@ -273,11 +445,9 @@ public class TaskService {
      * @return List of tasks with the specified status
      */
     public List<Task> findByStatus(TaskStatus taskStatus) {
-        return findAll().stream()
-                .filter(task -> task.getStatus() == taskStatus)
-                //order by dueDate descending
-                .sorted(Comparator.comparing(Task::getDueDate).reversed())
-                .collect(Collectors.toList());
+        List<Task> tasks = taskRepository.findByTaskStatus(taskStatus);
+        attachResults(tasks);
+        return tasks;
     }
 
     /**
@@ -288,22 +458,20 @@ public class TaskService {
      * @return List of tasks matching both criteria
      */
     public List<Task> findByUserIdAndStatus(int userId, TaskStatus taskStatus) {
-        return findAll().stream()
-                .filter(task -> task.getAssignedUserId() == userId && task.getStatus() == taskStatus)
-                .collect(Collectors.toList());
+        List<Task> tasks = taskRepository.findByAssignedUserIdAndTaskStatus(userId, taskStatus);
+        attachResults(tasks);
+        return tasks;
     }
 
     /**
      * Finds all tasks that are ready to run.
-     * These are tasks that have a taskClassName, are not completed,
+     * These are tasks that have a taskClassName, are queued,
      * have all dependencies completed, and are scheduled for now or in the past.
      *
-     * @return List of ready to run tasks
+     * @return List of ready to run tasks, most overdue first
      */
     public List<Task> findReadyToRunTasks() {
-        return findAll().stream()
-                .filter(Task::isReadyToRun)
-                .collect(Collectors.toList());
+        return taskRepository.findReadyToRun(LocalDateTime.now());
     }
 
     /**
@@ -0,0 +1,162 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the number of unread notifications per user in memory.
+ * A user's counter is seeded with a COUNT query on first access and then adjusted whenever a
+ * notification is created or read, so unread badges never load notification entities. Changes are
+ * pushed to the user over WebSocket. The counters are reconciled with the database periodically,
+ * which corrects drift from changes made by other nodes or directly in the database.
+ * Counters live in a bounded cache and expire when a user has not been active for a while; an
+ * evicted counter is seeded again on the next access.
+ */
+@Service
+public class UnreadCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCounterService.class);
+
+    public static final String UNREAD_COUNT_QUEUE = "/queue/notifications.unread";
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Cache<Integer, Long> counts;
+
+    /**
+     * Creates a new unread counter service.
+     *
+     * @param notificationRepository The repository for notifications
+     * @param messagingTemplate      The WebSocket messaging template
+     * @param maxSize                The maximum number of users with a counter
+     * @param idleMinutes            The time after the last access at which a counter is dropped
+     */
+    @Autowired
+    public UnreadCounterService(NotificationRepository notificationRepository,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${tasklist.notifications.unread-cache.max-size:10000}") long maxSize,
+                                @Value("${tasklist.notifications.unread-cache.idle-minutes:30}") long idleMinutes) {
+        this(notificationRepository, messagingTemplate, maxSize, Duration.ofMinutes(idleMinutes),
+                Ticker.systemTicker());
+    }
+
+    UnreadCounterService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate,
+                         long maxSize, Duration idleTime, Ticker ticker) {
+        this.notificationRepository = notificationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTime)
+                .ticker(ticker)
+                // Evict on the calling thread instead of the common pool
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Returns the number of unread notifications of a user.
+     *
+     * @param userId The ID of the user
+     * @return The number of notifications that are neither read nor archived
+     */
+    @Transactional(readOnly = true)
+    public long getUnreadCount(int userId) {
+        Long count = counts.getIfPresent(userId);
+        if (count != null) {
+            return count;
+        }
+        // Not inside computeIfAbsent, which would block other users' counters during the query
+        long seeded = notificationRepository.countUnreadByUserId(userId);
+        Long concurrent = counts.asMap().putIfAbsent(userId, seeded);
+        return concurrent != null ? concurrent : seeded;
+    }
+
+    /**
+     * Adjusts the counter of a user once the current transaction commits and pushes the new value.
+     * Users without a counter (not seeded yet or evicted) are skipped; their count is loaded on next access.
+     *
+     * @param userId The ID of the user
+     * @param delta  The change in unread notifications
+     */
+    public void adjust(int userId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, delta);
+                }
+            });
+        } else {
+            apply(userId, delta);
+        }
+    }
+
+    /**
+     * Adjusts the counters of several users once the current transaction commits.
+     *
+     * @param deltas The change in unread notifications per user ID
+     */
+    public void adjustAll(Map<Integer, Integer> deltas) {
+        deltas.forEach(this::adjust);
+    }
+
+    /**
+     * Recounts the unread notifications of all users with a counter and pushes changed values.
+     */
+    @Scheduled(fixedRateString = "${tasklist.notifications.unread-reconcile-seconds:60}000")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        List<Integer> userIds = new ArrayList<>(counts.asMap().keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Integer> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+            Map<Integer, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadGroupedByUserId(batch)) {
+                actual.put((Integer) row[0], ((Number) row[1]).longValue());
+            }
+            for (Integer userId : batch) {
+                long count = actual.getOrDefault(userId, 0L);
+                // Read quietly and replace only differing counters, so reconciling neither keeps idle
+                // counters alive nor adds counters that were evicted in the meantime
+                Long previous = counts.policy().getIfPresentQuietly(userId);
+                if (previous != null && previous != count && counts.asMap().replace(userId, previous, count)) {
+                    logger.debug("Corrected unread count of user {} from {} to {}", userId, previous, count);
+                    push(userId, count);
+                }
+            }
+        }
+    }
+
+    private void apply(int userId, int delta) {
+        Long count = counts.asMap().computeIfPresent(userId, (id, current) -> Math.max(0, current + delta));
+        if (count != null) {
+            push(userId, count);
+        }
+    }
+
+    private void push(int userId, long count) {
+        try {
+            messagingTemplate.convertAndSend("/user/" + userId + UNREAD_COUNT_QUEUE,
+                    Map.of("userId", userId, "unreadCount", count));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to push unread count to user {}", userId, e);
+        }
+    }
+}
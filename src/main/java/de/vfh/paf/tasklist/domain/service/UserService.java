@@ -1,5 +1,7 @@
 package de.vfh.paf.tasklist.domain.service;
 
+import de.vfh.paf.tasklist.application.dto.KeysetCursor;
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.domain.model.User;
 import de.vfh.paf.tasklist.infrastructure.persistence.UserRepositoryJpaAdapter;
 import org.springframework.stereotype.Service;
@@ -74,4 +76,31 @@ public class UserService {
     public List<User> findAll() {
         return userRepository.findAll();
     }
+
+    /**
+     * Gets one page of users in ID order.
+     * The cursors carry only the ID of the last user, since users are not sorted by any other column.
+     *
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of users
+     * @return The page of users and the cursor for the next page
+     */
+    public KeysetPage<User> findPage(KeysetCursor after, int limit) {
+        // Fetch one extra user to find out whether there is a next page
+        List<User> users = userRepository.findPage(after != null ? after.id() : null, limit + 1);
+        if (users.size() <= limit) {
+            return new KeysetPage<>(users, null);
+        }
+        List<User> page = users.subList(0, limit);
+        return new KeysetPage<>(page, new KeysetCursor(null, page.getLast().getId()));
+    }
+
+    /**
+     * Returns the statistics of the user cache.
+     *
+     * @return The statistics
+     */
+    public UserRepositoryJpaAdapter.Stats getCacheStats() {
+        return userRepository.getCacheStats();
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -92,6 +93,11 @@ public class CalculatePiTask extends AbstractRunnableTask {
                 "This task supports progress tracking during execution.";
     }
 
+    @Override
+    public Map<String, String> getParameters() {
+        return Map.of("iterations", "Number of iterations of the Leibniz formula (default " + DEFAULT_ITERATIONS + ")");
+    }
+
     /**
      * Calculates Pi using the Leibniz formula: Pi/4 = 1 - 1/3 + 1/5 - 1/7 + ...
      * with progress tracking.
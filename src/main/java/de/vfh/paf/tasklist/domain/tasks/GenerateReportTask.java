@@ -3,50 +3,47 @@ package de.vfh.paf.tasklist.domain.tasks;
 import de.vfh.paf.tasklist.domain.model.AbstractRunnableTask;
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.model.TaskResult;
+import de.vfh.paf.tasklist.domain.service.ReportService;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.Map;
 
 /**
- * A task that generates a simulated report.
- * This mimics a data processing task that might generate reports from data.
+ * A task that generates a report from the current task, notification and result data.
+ * The aggregation is delegated to the {@link ReportService}, which streams the underlying
+ * tables instead of loading them into memory.
  */
 public class GenerateReportTask extends AbstractRunnableTask {
 
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static ReportService reportService;
+
+    /**
+     * Sets the report service used to generate reports.
+     * Called once by the application context, since task instances are not Spring beans.
+     *
+     * @param service The report service
+     */
+    public static void setReportService(ReportService service) {
+        reportService = service;
+    }
 
     @Override
     protected TaskResult execute(Task task) {
-        // Simulate report generation work
-        try {
-            Thread.sleep(10000); // Simulate some processing time
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Generate a dummy report
         String reportType = extractReportType(task.getDescription());
-        String reportId = UUID.randomUUID().toString().substring(0, 8);
 
-        StringBuilder reportContent = new StringBuilder();
-        reportContent.append("=== ").append(reportType).append(" Report ===\n");
-        reportContent.append("Report ID: ").append(reportId).append("\n");
-        reportContent.append("Generated: ").append(LocalDateTime.now().format(FORMATTER)).append("\n");
-        reportContent.append("Requested by User: ").append(task.getAssignedUserId()).append("\n");
-        reportContent.append("\nReport Summary:\n");
+        if (reportService == null) {
+            return new TaskResult("Report Generation Failed",
+                    "Report engine is not available; " + reportType + " report could not be generated.",
+                    LocalDateTime.now());
+        }
 
-        // Add sample data based on report type
-        if ("Sales".equalsIgnoreCase(reportType)) {
-            reportContent.append("Total Sales: $").append((int) (Math.random() * 10000)).append("\n");
-            reportContent.append("New Customers: ").append((int) (Math.random() * 100)).append("\n");
-            reportContent.append("Best Selling Product: Product-").append((int) (Math.random() * 10));
-        } else if ("Performance".equalsIgnoreCase(reportType)) {
-            reportContent.append("Average Response Time: ").append((int) (Math.random() * 500)).append("ms\n");
-            reportContent.append("Server Uptime: 99.").append((int) (Math.random() * 100)).append("%\n");
-            reportContent.append("Error Rate: ").append(String.format("%.2f", Math.random() * 2)).append("%");
-        } else {
-            reportContent.append("Summary data for ").append(reportType).append(" not available.");
+        StringWriter reportContent = new StringWriter();
+        try {
+            reportService.writeReport(reportType, task.getAssignedUserId(), reportContent);
+        } catch (IOException e) {
+            return new TaskResult("Report Generation Failed", e.getMessage(), LocalDateTime.now());
         }
 
         return new TaskResult("Report Generation Complete",
@@ -62,7 +59,13 @@ public class GenerateReportTask extends AbstractRunnableTask {
     @Override
     public String getDescription() {
         return "Generates various types of reports. Specify the report type in the description " +
-                "using 'type=X'. Available types: Sales, Performance, etc.";
+                "using 'type=X'. Available types: Tasks, Performance, Notifications, Results; " +
+                "any other type produces a full summary.";
+    }
+
+    @Override
+    public Map<String, String> getParameters() {
+        return Map.of("type", "Report type: Tasks, Performance, Notifications or Results (default Generic)");
     }
 
     /**
@@ -0,0 +1,21 @@
+package de.vfh.paf.tasklist.infrastructure.config;
+
+import de.vfh.paf.tasklist.domain.service.ReportService;
+import de.vfh.paf.tasklist.domain.tasks.GenerateReportTask;
+import org.springframework.context.annotation.Configuration;
+import jakarta.annotation.PostConstruct;
+
+@Configuration
+public class ReportEngineConfig {
+
+    private final ReportService reportService;
+
+    public ReportEngineConfig(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @PostConstruct
+    public void init() {
+        GenerateReportTask.setReportService(reportService);
+    }
+}
@@ -0,0 +1,28 @@
+package de.vfh.paf.tasklist.infrastructure.config;
+
+import de.vfh.paf.tasklist.infrastructure.storage.ResultBlobStore;
+import de.vfh.paf.tasklist.infrastructure.storage.TaskResultSpillListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import jakarta.annotation.PostConstruct;
+
+@Configuration
+public class ResultStorageConfig {
+
+    private final ResultBlobStore blobStore;
+
+    @Value("${tasklist.storage.inline-threshold:2048}")
+    private int inlineThreshold;
+
+    @Value("${tasklist.storage.preview-length:512}")
+    private int previewLength;
+
+    public ResultStorageConfig(ResultBlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    @PostConstruct
+    public void init() {
+        TaskResultSpillListener.configure(blobStore, inlineThreshold, previewLength);
+    }
+}
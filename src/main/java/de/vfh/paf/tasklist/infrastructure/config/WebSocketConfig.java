@@ -1,18 +1,58 @@
 package de.vfh.paf.tasklist.infrastructure.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import de.vfh.paf.tasklist.presentation.websocket.BinarySubscriptionInterceptor;
+import de.vfh.paf.tasklist.presentation.websocket.OutboundBufferRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * Configuration for WebSocket connections.
  * Enables STOMP (Simple Text Oriented Messaging Protocol) over WebSocket.
+ * By default messages are handled by an in-memory broker, which only reaches clients connected to this
+ * node. With {@code tasklist.websocket.broker.mode=relay} they are relayed to an external STOMP broker
+ * (e.g. RabbitMQ or ActiveMQ Artemis), so messages published on any node reach the clients of all nodes.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    @Value("${tasklist.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${tasklist.websocket.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${tasklist.websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${tasklist.websocket.broker.login:guest}")
+    private String login;
+
+    @Value("${tasklist.websocket.broker.passcode:guest}")
+    private String passcode;
+
+    @Value("${tasklist.websocket.broker.virtual-host:}")
+    private String virtualHost;
+
+    private final ObjectProvider<BinarySubscriptionInterceptor> binarySubscriptionInterceptor;
+    private final ObjectProvider<OutboundBufferRegistry> outboundBufferRegistry;
+
+    public WebSocketConfig(ObjectProvider<BinarySubscriptionInterceptor> binarySubscriptionInterceptor,
+                           ObjectProvider<OutboundBufferRegistry> outboundBufferRegistry) {
+        this.binarySubscriptionInterceptor = binarySubscriptionInterceptor;
+        this.outboundBufferRegistry = outboundBufferRegistry;
+    }
 
     /**
      * Configures the message broker.
@@ -22,7 +62,24 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Topics that clients can subscribe to, and receive messages from the server
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(login)
+                    .setClientPasscode(passcode)
+                    .setSystemLogin(login)
+                    .setSystemPasscode(passcode)
+                    // Share user sessions between nodes so that user destinations resolve on every node
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!virtualHost.isEmpty()) {
+                relay.setVirtualHost(virtualHost);
+            }
+            logger.info("Relaying WebSocket messages to STOMP broker at {}:{}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
 
         // Prefix for messages that clients send to the server
         config.setApplicationDestinationPrefixes("/app");
@@ -34,6 +91,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // The /topic/queues will be used for queue-related updates
     }
 
+    /**
+     * Registers the interceptor that negotiates binary frames per subscription.
+     *
+     * @param registration The client inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        binarySubscriptionInterceptor.ifAvailable(registration::interceptors);
+    }
+
+    /**
+     * Gives each session a bounded outbound buffer, so that slow clients cannot pile up messages.
+     *
+     * @param registration The WebSocket transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        outboundBufferRegistry.ifAvailable(registration::addDecoratorFactory);
+    }
+
     /**
      * Registers endpoints for WebSocket connections.
      *
@@ -0,0 +1,240 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Invalidates in-process caches on all backend instances.
+ * Writers announce changed keys with {@code pg_notify}; since NOTIFY is transactional, other nodes
+ * only hear about changes that were committed. Every node listens on a dedicated connection outside
+ * the pool and evicts the announced keys from its registered caches.
+ * While the listener is disconnected, notifications are lost, so {@link #isLive()} turns false (caches
+ * fall back to short time to live) and all registered caches are cleared on disconnect and reconnect.
+ * On other databases (H2 in tests) there is only one node and the bus does nothing.
+ */
+@Component
+public class CacheInvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String CHANNEL = "tasklist_cache_invalidation";
+    static final String ALL_KEYS = "*";
+    private static final char SEPARATOR = '|';
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean clustered;
+    private final long reconnectMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection listenerConnection;
+    private Thread listenerThread;
+
+    /**
+     * Creates the bus.
+     *
+     * @param jdbcTemplate     Used to send notifications within the current transaction
+     * @param url              The JDBC URL of the database
+     * @param username         The database user
+     * @param password         The database password
+     * @param enabled          Whether changes are announced to other nodes
+     * @param reconnectSeconds How long to wait before reconnecting a lost listener connection
+     */
+    @Autowired
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                @Value("${spring.datasource.url:}") String url,
+                                @Value("${spring.datasource.username:}") String username,
+                                @Value("${spring.datasource.password:}") String password,
+                                @Value("${tasklist.cache.invalidation.enabled:true}") boolean enabled,
+                                @Value("${tasklist.cache.invalidation.reconnect-seconds:5}") long reconnectSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.clustered = enabled && url.startsWith("jdbc:postgresql:");
+        this.reconnectMillis = TimeUnit.SECONDS.toMillis(reconnectSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!clustered) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        closeQuietly(listenerConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Registers a cache whose keys are evicted when other nodes announce changes.
+     *
+     * @param cacheName     The name used by {@link #publish(String, Object)}
+     * @param invalidateKey Evicts one key, given in its string form
+     * @param invalidateAll Clears the cache
+     */
+    public void register(String cacheName, Consumer<String> invalidateKey, Runnable invalidateAll) {
+        handlers.put(cacheName, new Handler(invalidateKey, invalidateAll));
+    }
+
+    /**
+     * Announces a changed key to the other nodes. Inside a transaction, the notification is only
+     * delivered if the transaction commits.
+     *
+     * @param cacheName The name of the cache
+     * @param key       The changed key, or {@link #ALL_KEYS} to clear the cache
+     */
+    public void publish(String cacheName, Object key) {
+        if (!clustered) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL,
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            // The write itself succeeded; other nodes catch up through the time to live
+            logger.warn("Could not announce change of {} {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Tells whether caches can rely on being invalidated: true if this is the only node or the
+     * listener is connected.
+     *
+     * @return Whether invalidations are being received
+     */
+    public boolean isLive() {
+        return !clustered || listening;
+    }
+
+    /**
+     * Applies one notification payload ({@code nodeId|cacheName|key}). Own notifications are skipped,
+     * as the writer has already evicted the key locally.
+     *
+     * @param payload The payload
+     */
+    void dispatch(String payload) {
+        int first = payload.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : payload.indexOf(SEPARATOR, first + 1);
+        if (second < 0) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (payload.substring(0, first).equals(nodeId)) {
+            return;
+        }
+        Handler handler = handlers.get(payload.substring(first + 1, second));
+        if (handler == null) {
+            return;
+        }
+        String key = payload.substring(second + 1);
+        if (ALL_KEYS.equals(key)) {
+            handler.invalidateAll().run();
+        } else {
+            handler.invalidateKey().accept(key);
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                // Changes made while nobody was listening are unknown
+                invalidateAll();
+                listening = true;
+                logger.info("Listening for cache invalidations on {}", CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    } else if (!connection.isValid(POLL_TIMEOUT_MILLIS / 1000)) {
+                        throw new SQLException("Listener connection is no longer valid");
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    if (listening) {
+                        logger.warn("Cache invalidation listener disconnected, falling back to short time to live: {}",
+                                e.getMessage());
+                        listening = false;
+                        invalidateAll();
+                    } else {
+                        logger.debug("Cache invalidation listener could not connect: {}", e.getMessage());
+                    }
+                    sleepBeforeReconnect();
+                }
+            } finally {
+                listening = false;
+                listenerConnection = null;
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        handlers.values().forEach(handler -> handler.invalidateAll().run());
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Could not close listener connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private record Handler(Consumer<String> invalidateKey, Runnable invalidateAll) {
+    }
+}
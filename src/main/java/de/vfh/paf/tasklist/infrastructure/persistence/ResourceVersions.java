@@ -0,0 +1,176 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the collections that clients poll, used as ETags.
+ * A counter is increased after every committed change of its collection, so an unchanged ETag
+ * means the response would be the same and can be answered with 304 without loading anything.
+ * Changes made through JPA are counted by Hibernate listeners; bulk updates and plain JDBC writes
+ * are reported with {@link #changed(String)}. Changes on other nodes arrive through the
+ * {@link CacheInvalidationBus}.
+ * ETags contain a random epoch of this node, so ETags of other nodes or of an earlier run never
+ * match. While the bus cannot receive changes of other nodes, no ETags are issued.
+ */
+@Component
+public class ResourceVersions implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String TASKS = "tasks";
+    public static final String QUEUES = "queues";
+    public static final String NOTIFICATIONS = "notifications";
+
+    private static final String BUS_NAME = "versions";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationBus invalidationBus;
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Increased when changes may have been missed, which changes every ETag
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResourceVersions(EntityManagerFactory entityManagerFactory, CacheInvalidationBus invalidationBus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        invalidationBus.register(BUS_NAME, this::increment, generation::incrementAndGet);
+    }
+
+    /**
+     * Returns the key of the notifications of one user.
+     *
+     * @param userId The ID of the user
+     * @return The key
+     */
+    public static String notificationsOf(int userId) {
+        return NOTIFICATIONS + ":" + userId;
+    }
+
+    /**
+     * Records a change of a collection. Inside a transaction the version is increased after the
+     * commit, so a client never gets the old content with the new ETag; each collection is counted
+     * and announced once per transaction.
+     *
+     * @param key The collection, e.g. {@link #TASKS}
+     */
+    @SuppressWarnings("unchecked")
+    public void changed(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidationBus.publish(BUS_NAME, key);
+            increment(key);
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> keys = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(ResourceVersions.this::increment);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ResourceVersions.this);
+                }
+            });
+            pending = keys;
+        }
+        if (pending.add(key)) {
+            invalidationBus.publish(BUS_NAME, key);
+        }
+    }
+
+    /**
+     * Returns the current ETag of one or more collections.
+     * Versions must be read before the content, so a concurrent change can only make the ETag older
+     * than the content, never newer.
+     *
+     * @param keys The collections the response is built from
+     * @return The quoted ETag, or null if no ETag can be issued
+     */
+    public String etag(String... keys) {
+        if (!invalidationBus.isLive()) {
+            return null;
+        }
+        StringBuilder etag = new StringBuilder("\"").append(epoch).append('-').append(generation.get());
+        for (String key : keys) {
+            etag.append('-').append(version(key));
+        }
+        return etag.append('"').toString();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(Object entity) {
+        if (entity instanceof Task || entity instanceof TaskResult) {
+            changed(TASKS);
+        } else if (entity instanceof Notification notification) {
+            changed(notification.getUserId() != null ? notificationsOf(notification.getUserId()) : NOTIFICATIONS);
+        }
+    }
+
+    private long version(String key) {
+        AtomicLong version = versions.get(key);
+        long value = version != null ? version.get() : 0;
+        // Per-user notification lists also change when notifications of all users are archived
+        if (key.startsWith(NOTIFICATIONS + ":")) {
+            value += version(NOTIFICATIONS);
+        }
+        return value;
+    }
+
+    private void increment(String key) {
+        versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+}
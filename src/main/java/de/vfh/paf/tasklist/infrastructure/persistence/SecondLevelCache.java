@@ -0,0 +1,203 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps Hibernate's second-level cache coherent across backend instances and reports its statistics.
+ * Within one instance, Hibernate updates the cache itself. Changes of cached entities are also
+ * announced on the {@link CacheInvalidationBus}, and the other instances evict the entity, the
+ * collections it owns and the cached query results. While the bus cannot receive announcements,
+ * all regions are cleared periodically instead.
+ */
+@Component
+public class SecondLevelCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionUpdateEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCache.class);
+
+    private static final String BUS_PREFIX = "hibernate:";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBus invalidationBus;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory, CacheInvalidationBus invalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+
+        MappingMetamodel metamodel = sessionFactory.getRuntimeMetamodels().getMappingMetamodel();
+        metamodel.forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache()) {
+                invalidationBus.register(BUS_PREFIX + persister.getEntityName(),
+                        key -> evict(persister, persister.getIdentifierMapping().getJavaType().fromString(key)),
+                        () -> evict(persister, null));
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // New rows change the results of cached queries on the other instances
+        announce(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        announce(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        announce(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        // Changing a collection (e.g. task dependencies) does not update the owner row
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (ownerId != null) {
+            announce(sessionFactory.getRuntimeMetamodels().getMappingMetamodel()
+                    .getEntityDescriptor(event.getAffectedOwnerEntityName()), ownerId);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        // Announcements are sent within the transaction; NOTIFY delivers them on commit
+        return false;
+    }
+
+    /**
+     * Clears all regions while changes of other instances are not received.
+     */
+    @Scheduled(fixedDelayString = "${tasklist.cache.second-level.fallback-evict-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void evictWhileNotLive() {
+        if (!invalidationBus.isLive()) {
+            logger.debug("Cache invalidations are not received, clearing the second-level cache");
+            sessionFactory.getCache().evictAllRegions();
+        }
+    }
+
+    /**
+     * Returns the statistics of the second-level and query cache, per region.
+     * Hibernate only collects them if {@code tasklist.cache.statistics-enabled} is set.
+     *
+     * @return The statistics, without counts and regions if statistics are disabled
+     */
+    public Stats getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        boolean enabled = sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled();
+        if (!statistics.isStatisticsEnabled()) {
+            return new Stats(enabled, false, 0, 0, 0, List.of());
+        }
+        List<RegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+                    long hits = regionStatistics == null ? 0 : regionStatistics.getHitCount();
+                    long misses = regionStatistics == null ? 0 : regionStatistics.getMissCount();
+                    long puts = regionStatistics == null ? 0 : regionStatistics.getPutCount();
+                    return new RegionStats(region, hits, misses, puts, hitRate(hits, misses));
+                })
+                .toList();
+        return new Stats(enabled, true,
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                hitRate(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+                regions);
+    }
+
+    private void announce(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            invalidationBus.publish(BUS_PREFIX + persister.getEntityName(), id);
+        }
+    }
+
+    /**
+     * Evicts an entity (or all entities of its type if the ID is null), the collections it owns
+     * and the cached query results, which may contain it.
+     */
+    private void evict(EntityPersister persister, Object id) {
+        Cache cache = sessionFactory.getCache();
+        String entityName = persister.getEntityName();
+        if (id == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, id);
+        }
+        sessionFactory.getRuntimeMetamodels().getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                if (id == null) {
+                    cache.evictCollectionData(collection.getRole());
+                } else {
+                    cache.evictCollectionData(collection.getRole(), id);
+                }
+            }
+        });
+        cache.evictDefaultQueryRegion();
+    }
+
+    private static double hitRate(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * Second-level cache statistics.
+     *
+     * @param enabled           Whether the second-level cache is enabled
+     * @param statisticsEnabled Whether Hibernate collects statistics; counts are zero and regions empty otherwise
+     * @param queryCacheHits    Queries answered from the query cache
+     * @param queryCacheMisses  Cacheable queries that went to the database
+     * @param queryCacheHitRate Ratio of query cache hits to all cacheable queries
+     * @param regions           The statistics per region
+     */
+    public record Stats(boolean enabled, boolean statisticsEnabled, long queryCacheHits, long queryCacheMisses,
+                        double queryCacheHitRate, List<RegionStats> regions) {
+    }
+
+    /**
+     * Statistics of one cache region.
+     *
+     * @param region  The region name
+     * @param hits    Lookups answered from the region
+     * @param misses  Lookups that went to the database
+     * @param puts    Entries written to the region
+     * @param hitRate Ratio of hits to all lookups
+     */
+    public record RegionStats(String region, long hits, long misses, long puts, double hitRate) {
+    }
+}
@@ -1,66 +1,96 @@
 package de.vfh.paf.tasklist.infrastructure.persistence;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import de.vfh.paf.tasklist.domain.model.User;
 import de.vfh.paf.tasklist.domain.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * In-memory cache adapter for UserRepository to maintain compatibility with
+ * Cache adapter for UserRepository to maintain compatibility with
  * the existing code while also persisting to the database.
- * This acts as a bridge between the database and the in-memory references.
+ * Users are loaded on first access into a bounded cache (Caffeine, W-TinyLFU eviction) and expire
+ * after a time to live, so memory stays bounded regardless of the number of users. Saved users are
+ * invalidated, so the next read sees the stored state.
+ * Changes are also announced to the other backend instances through the {@link CacheInvalidationBus};
+ * while the bus cannot receive announcements, newly cached users expire after a short fallback time to live.
+ * The {@link User} entity is not in the Hibernate second-level cache, so this is the only cache of users.
  */
 @Component
 @Primary
 public class UserRepositoryJpaAdapter {
 
+    static final String CACHE_NAME = "users";
+
     private final UserRepository userRepository;
-    private final Map<Integer, User> userCache = new ConcurrentHashMap<>();
-    private final AtomicInteger userIdGenerator = new AtomicInteger(1);
+    private final CacheInvalidationBus invalidationBus;
+    private final Cache<Integer, User> userCache;
 
     @Autowired
-    public UserRepositoryJpaAdapter(UserRepository userRepository) {
-        this.userRepository = userRepository;
-        // Preload the cache with users from the database
-        loadUsersFromDatabase();
+    public UserRepositoryJpaAdapter(UserRepository userRepository,
+                                    CacheInvalidationBus invalidationBus,
+                                    @Value("${tasklist.users.cache.max-size:10000}") long maxSize,
+                                    @Value("${tasklist.users.cache.ttl-minutes:10}") long ttlMinutes,
+                                    @Value("${tasklist.users.cache.fallback-ttl-seconds:30}") long fallbackTtlSeconds) {
+        this(userRepository, invalidationBus, maxSize, Duration.ofMinutes(ttlMinutes),
+                Duration.ofSeconds(fallbackTtlSeconds), Ticker.systemTicker());
     }
 
-    private void loadUsersFromDatabase() {
-        List<User> users = userRepository.findAll();
-        for (User user : users) {
-            userCache.put(user.getId(), user);
-            // Update the ID generator if necessary
-            if (user.getId() >= userIdGenerator.get()) {
-                userIdGenerator.set(user.getId() + 1);
-            }
-        }
+    UserRepositoryJpaAdapter(UserRepository userRepository, CacheInvalidationBus invalidationBus, long maxSize,
+                             Duration ttl, Duration fallbackTtl, Ticker ticker) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Integer, User>() {
+                    @Override
+                    public long expireAfterCreate(Integer id, User user, long currentTime) {
+                        return (invalidationBus.isLive() ? ttl : fallbackTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer id, User user, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer id, User user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                // Evict on the calling thread instead of the common pool
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        invalidationBus.register(CACHE_NAME, id -> userCache.invalidate(Integer.valueOf(id)), userCache::invalidateAll);
     }
 
     /**
      * Saves a user.
+     * New users get their ID from the database.
      *
      * @param user The user to save
      * @return The saved user
      */
     public User save(User user) {
-        if (user.getId() == null) {
-            // New user, assign ID
-            user.setId(userIdGenerator.getAndIncrement());
-        }
-
         // Save to database
         User savedUser = userRepository.save(user);
 
-        // Update cache
-        userCache.put(savedUser.getId(), savedUser);
+        // The cached instance may be stale now, here and on the other nodes
+        userCache.invalidate(savedUser.getId());
+        invalidationBus.publish(CACHE_NAME, savedUser.getId());
 
         return savedUser;
     }
@@ -72,34 +102,70 @@ public class UserRepositoryJpaAdapter {
      * @return Optional containing the user, or empty if not found
      */
     public Optional<User> findById(int id) {
-        // Check cache first
-        User user = userCache.get(id);
-        if (user != null) {
-            return Optional.of(user);
-        }
-
-        // Then check database
-        Optional<User> userOpt = userRepository.findById(id);
-
-        // Update cache if found
-        userOpt.ifPresent(u -> userCache.put(id, u));
-
-        return userOpt;
+        // Check cache first, then the database; unknown IDs are not cached
+        return Optional.ofNullable(userCache.get(id, key -> userRepository.findById(key).orElse(null)));
     }
 
     /**
      * Gets all users.
+     * Reads from the database without filling the cache; use {@link #findPage(Integer, int)} for large tables.
      *
      * @return List of all users
      */
     public List<User> findAll() {
-        // Ensure the database and cache are in sync
-        List<User> usersFromDb = userRepository.findAll();
-        for (User user : usersFromDb) {
-            if (!userCache.containsKey(user.getId())) {
-                userCache.put(user.getId(), user);
-            }
-        }
-        return new ArrayList<>(userCache.values());
+        return userRepository.findAll();
+    }
+
+    /**
+     * Gets one page of users in ID order.
+     *
+     * @param afterId The last ID of the previous page, or null for the first page
+     * @param limit   The maximum number of users
+     * @return The users
+     */
+    public List<User> findPage(Integer afterId, int limit) {
+        PageRequest pageRequest = PageRequest.ofSize(limit);
+        return afterId == null
+                ? userRepository.findAllByOrderByIdAsc(pageRequest)
+                : userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageRequest);
+    }
+
+    /**
+     * Removes a user from the cache, e.g. after it was changed outside this adapter.
+     *
+     * @param id The ID of the user
+     */
+    public void invalidate(int id) {
+        userCache.invalidate(id);
+    }
+
+    /**
+     * Removes all users from the cache.
+     */
+    public void invalidateAll() {
+        userCache.invalidateAll();
+    }
+
+    /**
+     * Returns the statistics of the user cache.
+     *
+     * @return The statistics
+     */
+    public Stats getCacheStats() {
+        CacheStats stats = userCache.stats();
+        return new Stats(userCache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    /**
+     * User cache statistics.
+     *
+     * @param size      Approximate number of cached users
+     * @param hits      Lookups answered from the cache
+     * @param misses    Lookups that went to the database
+     * @param hitRate   Ratio of hits to all lookups
+     * @param evictions Users removed because of the size limit or the time to live
+     */
+    public record Stats(long size, long hits, long misses, double hitRate, long evictions) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package de.vfh.paf.tasklist.infrastructure.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Content-addressed, compressed file store for large task results.
+ * Blobs are keyed by the SHA-256 hash of their uncompressed content, so identical results
+ * are stored only once. Content is stored zlib-compressed, which is exactly the HTTP
+ * "deflate" content coding, so compressed blobs can be sent to clients without re-encoding.
+ * Blobs are written before the result referencing them is committed; blobs left without a
+ * result by a rollback are removed by the {@link ResultBlobSweeper}.
+ */
+@Component
+public class ResultBlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(ResultBlobStore.class);
+
+    private static final String SUFFIX = ".deflate";
+
+    private final Path baseDirectory;
+
+    /**
+     * Creates a new blob store.
+     *
+     * @param baseDirectory The directory in which blobs are stored; created if missing
+     */
+    public ResultBlobStore(@Value("${tasklist.storage.result-dir:${java.io.tmpdir}/tasklist-results}") String baseDirectory) {
+        this.baseDirectory = Paths.get(baseDirectory);
+        try {
+            Files.createDirectories(this.baseDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create result store directory " + baseDirectory, e);
+        }
+        logger.info("Result blob store initialized at {}", this.baseDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Stores content and returns its key.
+     * The content is hashed and compressed in a single pass into a temporary file which is then
+     * moved into place; if a blob with the same hash already exists, the temporary file is discarded.
+     *
+     * @param content The uncompressed content
+     * @return The blob key (hex-encoded SHA-256 of the content)
+     * @throws IOException If the blob cannot be written
+     */
+    public String put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(baseDirectory, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream file = Files.newOutputStream(temp);
+                 OutputStream out = new DigestOutputStream(new DeflaterOutputStream(file, deflater, 8192), digest)) {
+                content.transferTo(out);
+            } finally {
+                deflater.end();
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(key);
+            if (Files.exists(target)) {
+                // A reused blob is about to be referenced again, so the orphan sweep must treat it as new
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                return key;
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Checks whether a blob exists.
+     *
+     * @param key The blob key
+     * @return true if the blob exists
+     */
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.exists(pathFor(key));
+    }
+
+    /**
+     * Returns the compressed size of a blob.
+     *
+     * @param key The blob key
+     * @return The size of the stored (compressed) blob in bytes
+     * @throws IOException If the blob cannot be read
+     */
+    public long compressedSize(String key) throws IOException {
+        return Files.size(pathFor(key));
+    }
+
+    /**
+     * Opens the compressed blob for zero-copy transfer.
+     *
+     * @param key The blob key
+     * @return A read-only channel over the compressed bytes
+     * @throws IOException If the blob cannot be opened
+     */
+    public FileChannel openCompressed(String key) throws IOException {
+        return FileChannel.open(pathFor(key), StandardOpenOption.READ);
+    }
+
+    /**
+     * Opens the blob for reading its uncompressed content.
+     *
+     * @param key The blob key
+     * @return A stream that inflates the blob while it is read
+     * @throws IOException If the blob cannot be opened
+     */
+    public InputStream openInflated(String key) throws IOException {
+        return new BufferedInputStream(new InflaterInputStream(Files.newInputStream(pathFor(key))), 8192);
+    }
+
+    /**
+     * Lists the keys of all blobs last written before a point in time.
+     *
+     * @param cutoff Only blobs older than this are listed
+     * @return The blob keys
+     * @throws IOException If the store cannot be read
+     */
+    public List<String> findKeysOlderThan(Instant cutoff) throws IOException {
+        try (Stream<Path> files = Files.walk(baseDirectory, 2)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .filter(file -> isOlderThan(file, cutoff))
+                    .map(file -> file.getFileName().toString())
+                    .map(name -> name.substring(0, name.length() - SUFFIX.length()))
+                    .filter(ResultBlobStore::isValidKey)
+                    .toList();
+        }
+    }
+
+    /**
+     * Deletes a blob unless it has been written or reused since a point in time.
+     *
+     * @param key    The blob key
+     * @param cutoff The blob is only deleted if it is older than this
+     * @return true if the blob was deleted
+     * @throws IOException If the blob cannot be deleted
+     */
+    public boolean deleteIfOlderThan(String key, Instant cutoff) throws IOException {
+        Path path = pathFor(key);
+        return isOlderThan(path, cutoff) && Files.deleteIfExists(path);
+    }
+
+    /**
+     * Deletes temporary upload files left behind by an interrupted {@link #put(InputStream)}.
+     *
+     * @param cutoff Only files older than this are deleted
+     * @return The number of deleted files
+     * @throws IOException If the store cannot be read
+     */
+    public int deleteStaleUploads(Instant cutoff) throws IOException {
+        int deleted = 0;
+        try (DirectoryStream<Path> uploads = Files.newDirectoryStream(baseDirectory, "upload-*.tmp")) {
+            for (Path upload : uploads) {
+                if (isOlderThan(upload, cutoff) && Files.deleteIfExists(upload)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            // Deleted concurrently
+            return false;
+        }
+    }
+
+    private Path pathFor(String key) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        // Shard by the first two hex digits to keep directories small
+        return baseDirectory.resolve(key.substring(0, 2)).resolve(key + SUFFIX);
+    }
+
+    private static boolean isValidKey(String key) {
+        return key != null && key.length() == 64 && key.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.vfh.paf.tasklist.infrastructure.storage;
+
+import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes result blobs that no task result refers to.
+ * Large results are written to the {@link ResultBlobStore} before their transaction commits, so a
+ * rollback leaves the blob behind. Only blobs older than a grace period are considered, because
+ * younger blobs may belong to a transaction that is still open.
+ */
+@Component
+public class ResultBlobSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(ResultBlobSweeper.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final ResultBlobStore blobStore;
+    private final TaskResultRepository taskResultRepository;
+    private final Duration gracePeriod;
+    private final Clock clock;
+
+    /**
+     * Creates a new sweeper.
+     *
+     * @param blobStore            The blob store to clean up
+     * @param taskResultRepository The repository for task results
+     * @param graceMinutes         How old a blob must be before it can be deleted
+     */
+    public ResultBlobSweeper(ResultBlobStore blobStore, TaskResultRepository taskResultRepository,
+                             @Value("${tasklist.storage.orphan-grace-minutes:60}") long graceMinutes) {
+        this(blobStore, taskResultRepository, Duration.ofMinutes(graceMinutes), Clock.systemUTC());
+    }
+
+    ResultBlobSweeper(ResultBlobStore blobStore, TaskResultRepository taskResultRepository, Duration gracePeriod,
+                      Clock clock) {
+        this.blobStore = blobStore;
+        this.taskResultRepository = taskResultRepository;
+        this.gracePeriod = gracePeriod;
+        this.clock = clock;
+    }
+
+    /**
+     * Deletes unreferenced blobs older than the grace period and leftover temporary uploads.
+     *
+     * @return The number of deleted blobs
+     */
+    @Scheduled(fixedDelayString = "${tasklist.storage.orphan-sweep-minutes:60}",
+            initialDelayString = "${tasklist.storage.orphan-sweep-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public int sweep() {
+        Instant cutoff = clock.instant().minus(gracePeriod);
+        int deleted = 0;
+        try {
+            blobStore.deleteStaleUploads(cutoff);
+            List<String> candidates = blobStore.findKeysOlderThan(cutoff);
+            for (int from = 0; from < candidates.size(); from += BATCH_SIZE) {
+                List<String> batch = candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()));
+                Set<String> referenced = new HashSet<>(taskResultRepository.findReferencedBlobKeys(batch));
+                for (String key : batch) {
+                    if (!referenced.contains(key) && blobStore.deleteIfOlderThan(key, cutoff)) {
+                        deleted++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Result blob sweep aborted: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Deleted {} unreferenced result blobs", deleted);
+        }
+        return deleted;
+    }
+}
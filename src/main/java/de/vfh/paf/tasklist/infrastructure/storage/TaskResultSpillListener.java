@@ -0,0 +1,74 @@
+package de.vfh.paf.tasklist.infrastructure.storage;
+
+import de.vfh.paf.tasklist.domain.model.TaskResult;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JPA entity listener that keeps small task results inline and moves large ones to the
+ * {@link ResultBlobStore} before they are written, leaving only a preview in the database.
+ * The size limit applies to the UTF-8 encoded content, which is also what {@code content_length} records.
+ * The store is injected statically because entity listeners are instantiated by Hibernate.
+ */
+public class TaskResultSpillListener {
+    private static final Logger logger = LoggerFactory.getLogger(TaskResultSpillListener.class);
+
+    private static ResultBlobStore blobStore;
+    private static int inlineThreshold = 2048;
+    private static int previewLength = 512;
+
+    /**
+     * Configures the listener.
+     *
+     * @param store     The blob store to spill large results to
+     * @param threshold Results longer than this many bytes (UTF-8) are spilled
+     * @param preview   Number of characters kept inline as a preview
+     */
+    public static void configure(ResultBlobStore store, int threshold, int preview) {
+        blobStore = store;
+        inlineThreshold = threshold;
+        previewLength = Math.min(preview, threshold);
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void spillIfLarge(TaskResult result) {
+        String content = result.getContent();
+        if (content == null || result.isExternal()) {
+            return;
+        }
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        result.setContentLength((long) bytes.length);
+
+        // Compared in bytes, like the stored content length
+        if (blobStore == null || bytes.length <= inlineThreshold) {
+            return;
+        }
+
+        try {
+            String key = blobStore.put(new ByteArrayInputStream(bytes));
+            result.setBlobKey(key);
+            result.setContent(preview(content));
+            logger.debug("Stored {} byte result for task {} as blob {}", bytes.length, result.getTaskId(), key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store result for task " + result.getTaskId(), e);
+        }
+    }
+
+    private static String preview(String content) {
+        int end = Math.min(previewLength, content.length());
+        // Do not split a surrogate pair
+        if (end > 0 && end < content.length() && Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end);
+    }
+}
@@ -0,0 +1,64 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for GET endpoints answering conditional requests (If-None-Match) with 304.
+ * The ETag is checked before anything is loaded, so an unchanged resource costs no query.
+ * Responses carry {@code Cache-Control: no-cache}, which makes browsers revalidate every poll
+ * with the stored ETag.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks whether an If-None-Match header matches the current ETag.
+     *
+     * @param ifNoneMatch The header value, may be null
+     * @param etag        The current ETag, may be null if none can be issued
+     * @return true if the client's copy is current
+     */
+    static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the 304 response.
+     *
+     * @param etag The current ETag
+     * @return The response without body
+     */
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    /**
+     * Starts a 200 response with the ETag, if one could be issued.
+     *
+     * @param etag The current ETag, may be null
+     * @return The response builder
+     */
+    static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag).cacheControl(CacheControl.noCache());
+        }
+        return response;
+    }
+}
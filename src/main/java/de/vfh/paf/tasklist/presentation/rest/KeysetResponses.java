@@ -0,0 +1,62 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import de.vfh.paf.tasklist.application.dto.KeysetCursor;
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helper for list endpoints with keyset pagination.
+ * The page is returned as the plain array body; the cursor for the next page is sent in the
+ * {@value KeysetPage#NEXT_CURSOR_HEADER} header, and an invalid cursor is answered with 400.
+ */
+final class KeysetResponses {
+
+    private KeysetResponses() {
+    }
+
+    /**
+     * Loads one page and builds the response.
+     *
+     * @param cursor The cursor from the previous page, may be null for the first page
+     * @param limit  The requested page size, may be null
+     * @param etag   The ETag of the response, may be null
+     * @param loader Loads the page after the decoded cursor
+     * @param mapper Converts the items to their DTOs
+     * @return The response with the page, or 400 if the cursor is invalid
+     */
+    static <T, D> ResponseEntity<List<D>> page(String cursor, Integer limit, String etag, PageLoader<T> loader,
+                                               Function<T, D> mapper) {
+        KeysetPage<T> page;
+        try {
+            page = loader.load(cursor != null ? KeysetCursor.decode(cursor) : null, KeysetPage.normalizeLimit(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseEntity.BodyBuilder response = ConditionalRequests.ok(etag);
+        if (page.nextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.nextToken());
+        }
+        return response.body(page.items().stream().map(mapper).collect(Collectors.toList()));
+    }
+
+    /**
+     * Loads one page of items.
+     *
+     * @param <T> The item type
+     */
+    @FunctionalInterface
+    interface PageLoader<T> {
+        /**
+         * Loads the page.
+         *
+         * @param after The position after which the page starts, or null for the first page
+         * @param limit The normalized page size
+         * @return The page
+         */
+        KeysetPage<T> load(KeysetCursor after, int limit);
+    }
+}
@@ -0,0 +1,57 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes newline-delimited JSON (one document per line) directly to an output stream.
+ * Values are serialized into the generator's buffer and only flushed on request, so
+ * callers can flush once per chunk instead of once per row.
+ */
+class NdjsonWriter implements Closeable {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are terminated explicitly, so suppress the default space between root values
+        this.generator.setRootValueSeparator(null);
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes one value as a single line.
+     *
+     * @param value The value to write
+     * @throws IOException If writing fails
+     */
+    void write(Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Flushes buffered lines to the underlying stream.
+     *
+     * @throws IOException If writing fails
+     */
+    void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
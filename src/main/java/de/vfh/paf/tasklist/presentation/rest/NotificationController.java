@@ -1,15 +1,28 @@
 package de.vfh.paf.tasklist.presentation.rest;
 
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.application.dto.NotificationDTO;
 import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.service.NotificationRetentionService;
 import de.vfh.paf.tasklist.domain.service.NotificationService;
+import de.vfh.paf.tasklist.domain.service.UnreadCounterService;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.presentation.websocket.NotificationDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,16 +36,38 @@ import java.util.stream.Collectors;
 @Tag(name = "Notifications", description = "Notification management endpoints")
 public class NotificationController {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadCounterService unreadCounterService;
+    private final NotificationRetentionService retentionService;
+    private final ResourceVersions resourceVersions;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, ObjectMapper objectMapper,
+                                  NotificationDispatcher notificationDispatcher,
+                                  UnreadCounterService unreadCounterService,
+                                  NotificationRetentionService retentionService,
+                                  ResourceVersions resourceVersions) {
         this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.notificationDispatcher = notificationDispatcher;
+        this.unreadCounterService = unreadCounterService;
+        this.retentionService = retentionService;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping
-    @Operation(summary = "Get all notifications", description = "Retrieves all notifications in the system")
-    public ResponseEntity<List<NotificationDTO>> getAllNotifications() {
+    @Operation(summary = "Get all notifications", description = "Retrieves all notifications in the system, or one page (newest first) if limit or cursor is set")
+    public ResponseEntity<List<NotificationDTO>> getAllNotifications(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        if (limit != null || cursor != null) {
+            return pageResponse(null, null, limit, cursor, null);
+        }
         List<Notification> notifications = notificationService.findAll();
         List<NotificationDTO> dtos = notifications.stream()
                 .map(NotificationDTO::new)
@@ -40,6 +75,37 @@ public class NotificationController {
         return ResponseEntity.ok(dtos);
     }
 
+    @GetMapping("/dispatch-stats")
+    @Operation(summary = "Get WebSocket delivery statistics", description = "Returns batch sizes and delivery latency of the WebSocket notification dispatcher")
+    public ResponseEntity<NotificationDispatcher.Stats> getDispatchStats() {
+        return ResponseEntity.ok(notificationDispatcher.getStats());
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all notifications", description = "Streams all notifications as newline-delimited JSON (one NotificationDTO per line)")
+    public ResponseEntity<StreamingResponseBody> exportNotifications() {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                notificationService.exportInChunks(EXPORT_CHUNK_SIZE, chunk -> {
+                    try {
+                        for (Notification notification : chunk) {
+                            writer.write(new NotificationDTO(notification));
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                logger.warn("Notification export aborted: {}", e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get notification by ID", description = "Retrieves a notification by its ID")
     public ResponseEntity<NotificationDTO> getNotificationById(@PathVariable int id) {
@@ -49,10 +115,22 @@ public class NotificationController {
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get notifications for user", description = "Retrieves all notifications for a specific user")
+    @Operation(summary = "Get notifications for user", description = "Retrieves all notifications for a specific user, or one page (newest first) if limit or cursor is set; answers 304 if the user's notifications are unchanged since the ETag in If-None-Match")
     public ResponseEntity<List<NotificationDTO>> getNotificationsByUser(
             @PathVariable int userId,
-            @RequestParam(required = false) Boolean read) {
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = resourceVersions.etag(ResourceVersions.notificationsOf(userId));
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
+
+        if (limit != null || cursor != null) {
+            return pageResponse(userId, read, limit, cursor, etag);
+        }
 
         List<Notification> notifications;
         if (read != null) {
@@ -64,6 +142,23 @@ public class NotificationController {
         List<NotificationDTO> dtos = notifications.stream()
                 .map(NotificationDTO::new)
                 .collect(Collectors.toList());
+        return ConditionalRequests.ok(etag).body(dtos);
+    }
+
+    @GetMapping("/user/{userId}/unread-count")
+    @Operation(summary = "Get unread notification count", description = "Returns the number of unread notifications of a user without loading them")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@PathVariable int userId) {
+        return ResponseEntity.ok(Map.of("userId", userId, "unreadCount", unreadCounterService.getUnreadCount(userId)));
+    }
+
+    @GetMapping("/user/{userId}/archive")
+    @Operation(summary = "Get archived notifications for user", description = "Retrieves archived notifications of a user, newest first: those archived by the user and old read notifications moved by the retention job")
+    public ResponseEntity<List<NotificationDTO>> getArchivedNotifications(
+            @PathVariable int userId,
+            @RequestParam(required = false) Integer limit) {
+        List<NotificationDTO> dtos = retentionService.findArchived(userId, KeysetPage.normalizeLimit(limit)).stream()
+                .map(NotificationDTO::new)
+                .collect(Collectors.toList());
         return ResponseEntity.ok(dtos);
     }
 
@@ -86,6 +181,38 @@ public class NotificationController {
         return ResponseEntity.ok(new NotificationDTO(notification));
     }
 
+    @PostMapping("/user/{userId}/read-all")
+    @Operation(summary = "Mark all notifications as read", description = "Marks all unread notifications of a user as read in one update")
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@PathVariable int userId) {
+        int updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(Map.of("userId", userId, "updated", updated));
+    }
+
+    @PostMapping("/user/{userId}/read")
+    @Operation(summary = "Mark notifications as read", description = "Marks the given notifications of a user as read in one update")
+    public ResponseEntity<Map<String, Object>> markManyAsRead(
+            @PathVariable int userId,
+            @RequestBody Map<String, List<Integer>> request) {
+        List<Integer> ids = request.get("ids");
+        if (ids == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        int updated = notificationService.markAsRead(userId, ids);
+        return ResponseEntity.ok(Map.of("userId", userId, "updated", updated));
+    }
+
+    @PostMapping("/user/{userId}/archive")
+    @Operation(summary = "Archive read notifications", description = "Archives the notifications of a user that were read more than the given number of days ago")
+    public ResponseEntity<Map<String, Object>> archiveRead(
+            @PathVariable int userId,
+            @RequestParam(defaultValue = "0") int olderThanDays) {
+        if (olderThanDays < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        int updated = notificationService.archiveRead(userId, LocalDateTime.now().minusDays(olderThanDays));
+        return ResponseEntity.ok(Map.of("userId", userId, "updated", updated));
+    }
+
     @PostMapping("/broadcast")
     @Operation(summary = "Broadcast system notification", description = "Broadcasts a notification to all users")
     public ResponseEntity<Void> broadcastNotification(@RequestBody Map<String, String> request) {
@@ -126,4 +253,14 @@ public class NotificationController {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds a paginated notification response with the next cursor in the X-Next-Cursor header
+     * and the ETag, if given.
+     */
+    private ResponseEntity<List<NotificationDTO>> pageResponse(Integer userId, Boolean read, Integer limit, String cursor,
+                                                               String etag) {
+        return KeysetResponses.page(cursor, limit, etag,
+                (after, pageSize) -> notificationService.findPage(userId, read, after, pageSize), NotificationDTO::new);
+    }
+}
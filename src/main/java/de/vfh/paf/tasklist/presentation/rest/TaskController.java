@@ -10,6 +10,11 @@ import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.service.TaskFactory;
 import de.vfh.paf.tasklist.domain.service.TaskProcessorService;
 import de.vfh.paf.tasklist.domain.service.TaskService;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.infrastructure.persistence.SecondLevelCache;
+import de.vfh.paf.tasklist.presentation.sse.TaskProgressStreams;
+import de.vfh.paf.tasklist.presentation.websocket.OutboundBufferRegistry;
+import de.vfh.paf.tasklist.presentation.websocket.TaskUpdatePublisher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -18,11 +23,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,13 +52,30 @@ public class TaskController {
     private final TaskManagerService taskManagerService;
     private final TaskFactory taskFactory;
     private final TaskProcessorService taskProcessor;
+    private final ObjectMapper objectMapper;
+    private final TaskUpdatePublisher taskUpdatePublisher;
+    private final OutboundBufferRegistry outboundBufferRegistry;
+    private final TaskProgressStreams progressStreams;
+    private final SecondLevelCache secondLevelCache;
+    private final ResourceVersions resourceVersions;
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
 
     public TaskController(TaskService taskService, TaskManagerService taskManagerService,
-                          TaskFactory taskFactory, TaskProcessorService taskProcessor) {
+                          TaskFactory taskFactory, TaskProcessorService taskProcessor,
+                          ObjectMapper objectMapper, TaskUpdatePublisher taskUpdatePublisher,
+                          OutboundBufferRegistry outboundBufferRegistry, TaskProgressStreams progressStreams,
+                          SecondLevelCache secondLevelCache, ResourceVersions resourceVersions) {
         this.taskService = taskService;
         this.taskManagerService = taskManagerService;
         this.taskFactory = taskFactory;
         this.taskProcessor = taskProcessor;
+        this.objectMapper = objectMapper;
+        this.taskUpdatePublisher = taskUpdatePublisher;
+        this.outboundBufferRegistry = outboundBufferRegistry;
+        this.progressStreams = progressStreams;
+        this.secondLevelCache = secondLevelCache;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -91,7 +120,8 @@ public class TaskController {
     /**
      * Gets a task by ID.
      *
-     * @param id Task ID
+     * @param id          Task ID
+     * @param ifNoneMatch Optional ETag of a previous response; unchanged tasks are answered with 304
      * @return Task data
      */
     @GetMapping("/{id}")
@@ -99,13 +129,20 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task found",
                     content = @Content(schema = @Schema(implementation = TaskDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Tasks unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
     public ResponseEntity<TaskDTO> getTask(
-            @Parameter(description = "Task ID", required = true) @PathVariable int id) {
+            @Parameter(description = "Task ID", required = true) @PathVariable int id,
+            @Parameter(description = "ETag of a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersions.etag(ResourceVersions.TASKS);
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
         return taskService.findById(id)
                 .map(TaskDTO::new)
-                .map(ResponseEntity::ok)
+                .map(task -> ConditionalRequests.ok(etag).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -230,20 +267,46 @@ public class TaskController {
 
     /**
      * Gets all tasks in the system.
+     * If a limit or cursor is given, a single page ordered by due date is returned and the cursor
+     * for the next page is sent in the X-Next-Cursor header.
      *
-     * @return List of all tasks
+     * @param taskStatus  Optional status filter
+     * @param userId      Optional user filter
+     * @param limit       Optional page size
+     * @param cursor      Optional cursor from a previous page
+     * @param ifNoneMatch Optional ETag of a previous response; unchanged tasks are answered with 304
+     * @return List of all tasks, or one page of tasks
      */
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Retrieves a list of all tasks in the system")
+    @Operation(summary = "Get all tasks", description = "Retrieves a list of all tasks in the system, or one page of them if limit or cursor is set")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskDTO.class))))
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Tasks unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
     public ResponseEntity<List<TaskDTO>> getAllTasks(
             @Parameter(description = "Filter tasks by status (optional)")
             @RequestParam(required = false) TaskStatus taskStatus,
             @Parameter(description = "Filter tasks by user ID (optional)")
-            @RequestParam(required = false) Integer userId) {
+            @RequestParam(required = false) Integer userId,
+            @Parameter(description = "Maximum number of tasks to return (enables pagination)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ETag of a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Read the version before the tasks, so a concurrent change cannot hide behind the ETag
+        String etag = resourceVersions.etag(ResourceVersions.TASKS);
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
+
+        if (limit != null || cursor != null) {
+            return KeysetResponses.page(cursor, limit, etag,
+                    (after, pageSize) -> taskService.findPage(userId, taskStatus, after, pageSize), TaskDTO::new);
+        }
 
         List<Task> tasks;
 
@@ -262,7 +325,42 @@ public class TaskController {
                 .map(TaskDTO::new)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(taskDTOs);
+        return ConditionalRequests.ok(etag).body(taskDTOs);
+    }
+
+    /**
+     * Exports all tasks as newline-delimited JSON.
+     * Tasks are read from a database cursor and written chunk by chunk, so the export
+     * runs in constant memory regardless of the number of tasks.
+     *
+     * @return Streaming NDJSON response with one task per line
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all tasks", description = "Streams all tasks as newline-delimited JSON (one TaskDTO per line)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started")
+    })
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                taskService.exportInChunks(EXPORT_CHUNK_SIZE, chunk -> {
+                    try {
+                        for (Task task : chunk) {
+                            writer.write(new TaskDTO(task));
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                logger.warn("Task export aborted: {}", e.getCause().getMessage());
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -278,11 +376,8 @@ public class TaskController {
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskTypeDTO.class))))
     })
     public ResponseEntity<List<TaskTypeDTO>> getTaskTypes() {
-        List<TaskTypeDTO> taskTypes = taskFactory.getTaskTypeMap().keySet().stream()
-                .map(s -> {
-                    RunnableTask taskType = taskFactory.getTaskType(s);
-                    return new TaskTypeDTO(s, taskType);
-                })
+        List<TaskTypeDTO> taskTypes = taskFactory.getTaskTypeMetadata().stream()
+                .map(TaskTypeDTO::new)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(taskTypes);
@@ -357,6 +452,42 @@ public class TaskController {
         return ResponseEntity.ok(taskProcessor.getThreadPoolStats());
     }
 
+    /**
+     * Gets WebSocket publishing statistics.
+     * Compares frame sizes and serialization times of the JSON and the binary encoding.
+     *
+     * @return Publishing statistics
+     */
+    @GetMapping("/publish-stats")
+    @Operation(summary = "Get WebSocket publishing statistics", description = "Returns conflation counts and the frame sizes and serialization times per encoding of task updates")
+    public ResponseEntity<TaskUpdatePublisher.Stats> getPublishStats() {
+        return ResponseEntity.ok(taskUpdatePublisher.getStats());
+    }
+
+    /**
+     * Gets WebSocket outbound buffer statistics.
+     * Shows how many frames were dropped or coalesced for slow clients, in total and per session.
+     *
+     * @return Outbound buffer statistics
+     */
+    @GetMapping("/outbound-stats")
+    @Operation(summary = "Get WebSocket outbound buffer statistics", description = "Returns dropped and coalesced frames and queued bytes, in total and for the sessions with the fullest buffers")
+    public ResponseEntity<OutboundBufferRegistry.Stats> getOutboundStats() {
+        return ResponseEntity.ok(outboundBufferRegistry.getStats());
+    }
+
+    /**
+     * Gets second-level cache statistics.
+     * Shows the hit rates of the cached tasks, users and results and of the query cache.
+     *
+     * @return Second-level cache statistics
+     */
+    @GetMapping("/entity-cache-stats")
+    @Operation(summary = "Get second-level cache statistics", description = "Returns hits, misses and puts per cache region and the query cache hit rate; statisticsEnabled is false and no counts are returned unless tasklist.cache.statistics-enabled is set")
+    public ResponseEntity<SecondLevelCache.Stats> getEntityCacheStats() {
+        return ResponseEntity.ok(secondLevelCache.getStats());
+    }
+
     /**
      * Gets the progress of a running task.
      * This is especially useful for long-running tasks that support progress tracking.
@@ -381,6 +512,32 @@ public class TaskController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Streams the progress of a task as Server-Sent Events.
+     * Only the initial state is loaded from the database; later updates come from the in-memory
+     * progress events, at most one per interval, and the stream ends when the task is done.
+     *
+     * @param id Task ID
+     * @return Stream of "progress" events with TaskProgressDTO data
+     */
+    @GetMapping(value = "/{id}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task progress",
+            description = "Streams progress updates of a task as Server-Sent Events until the task is done, for clients that do not use STOMP")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress stream opened"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    public ResponseEntity<SseEmitter> streamTaskProgress(
+            @Parameter(description = "Task ID", required = true) @PathVariable int id) {
+
+        return taskService.findById(id)
+                .map(TaskProgressDTO::new)
+                .map(progress -> ResponseEntity.ok(progressStreams.open(progress, () -> taskService.findById(id)
+                        .map(task -> task.getStatus().toString())
+                        .orElse(TaskStatus.DONE.toString()))))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Gets all tasks with a specific status.
      *
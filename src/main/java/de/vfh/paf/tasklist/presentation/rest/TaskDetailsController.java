@@ -6,6 +6,7 @@ import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.model.TaskResult;
 import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
 import de.vfh.paf.tasklist.domain.service.TaskService;
+import de.vfh.paf.tasklist.infrastructure.storage.ResultBlobStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,12 +17,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,13 +51,18 @@ import java.util.Optional;
 public class TaskDetailsController {
     private static final Logger logger = LoggerFactory.getLogger(TaskDetailsController.class);
 
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final TaskService taskService;
     private final TaskResultRepository taskResultRepository;
+    private final ResultBlobStore resultBlobStore;
 
     @Autowired
-    public TaskDetailsController(TaskService taskService, TaskResultRepository taskResultRepository) {
+    public TaskDetailsController(TaskService taskService, TaskResultRepository taskResultRepository,
+                                 ResultBlobStore resultBlobStore) {
         this.taskService = taskService;
         this.taskResultRepository = taskResultRepository;
+        this.resultBlobStore = resultBlobStore;
     }
 
     /**
@@ -70,17 +90,9 @@ public class TaskDetailsController {
 
         Task task = taskOptional.get();
 
-        // Create a task DTO with enhanced information
+        // Create a task DTO with enhanced information; the service has already attached the latest result
         TaskDTO taskDTO = new TaskDTO(task);
 
-        // Find the most recent result for this task
-        List<TaskResult> results = taskResultRepository.findByTaskId(id);
-        if (!results.isEmpty()) {
-            // Latest result is usually the first one due to sorting
-            TaskResult latestResult = results.getFirst();
-            taskDTO.setResult(new TaskResultDTO(latestResult));
-        }
-
         return ResponseEntity.ok(taskDTO);
     }
 
@@ -102,26 +114,148 @@ public class TaskDetailsController {
             @Parameter(description = "Task ID", required = true) @PathVariable int id) {
 
         try {
-            // First, check if the task exists
-            Optional<Task> taskOptional = taskService.findById(id);
-            if (taskOptional.isEmpty()) {
-                logger.info("Task with ID {} not found", id);
-            }
-
-            // Then, check for results associated with this task ID
-            List<TaskResult> results = taskResultRepository.findByTaskId(id);
+            Optional<TaskResult> latestResult = taskResultRepository.findFirstByTaskIdOrderByIdDesc(id);
 
-            if (results.isEmpty()) {
+            if (latestResult.isEmpty()) {
                 logger.info("No results found for task ID {}", id);
                 return ResponseEntity.notFound().build();
             }
 
-            // Return the most recent result (typically the first in the list)
-            TaskResult latestResult = results.getFirst();
-            return ResponseEntity.ok(new TaskResultDTO(latestResult));
+            return ResponseEntity.ok(new TaskResultDTO(latestResult.get()));
         } catch (Exception e) {
             logger.error("Error retrieving result for task ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Downloads the full content of the latest task result.
+     * Externally stored results are sent as their stored deflate stream when the client accepts
+     * that encoding and does not request a range; otherwise the content is inflated on the fly.
+     * Single byte ranges of the uncompressed content are supported.
+     *
+     * @param id             Task ID
+     * @param acceptEncoding The Accept-Encoding request header
+     * @param range          The Range request header
+     * @return The streamed result content
+     */
+    @GetMapping("/{id}/result/content")
+    @Operation(summary = "Download task result content",
+            description = "Streams the full result content of a task, with support for byte ranges")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Full content"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range"),
+            @ApiResponse(responseCode = "404", description = "Result not found"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
+    public ResponseEntity<StreamingResponseBody> getTaskResultContent(
+            @Parameter(description = "Task ID", required = true) @PathVariable int id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) throws IOException {
+
+        Optional<TaskResult> latestResult = taskResultRepository.findFirstByTaskIdOrderByIdDesc(id);
+        if (latestResult.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        TaskResult result = latestResult.get();
+
+        if (!result.isExternal()) {
+            byte[] bytes = result.getContent() != null
+                    ? result.getContent().getBytes(StandardCharsets.UTF_8)
+                    : new byte[0];
+            return rangedResponse(bytes.length, range, (out, start, count) -> out.write(bytes, (int) start, (int) count));
+        }
+
+        String key = result.getBlobKey();
+        if (!resultBlobStore.exists(key)) {
+            logger.error("Blob {} for result of task ID {} is missing", key, id);
+            return ResponseEntity.notFound().build();
+        }
+
+        if (range == null && acceptsDeflate(acceptEncoding)) {
+            long compressedSize = resultBlobStore.compressedSize(key);
+            StreamingResponseBody body = out -> {
+                // The servlet API only exposes a stream, so transferTo copies through a channel
+                // wrapper here; the bytes are still sent exactly as stored, without re-encoding.
+                try (FileChannel channel = resultBlobStore.openCompressed(key)) {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long position = 0;
+                    while (position < compressedSize) {
+                        position += channel.transferTo(position, compressedSize - position, target);
+                    }
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(TEXT_UTF8)
+                    .header(HttpHeaders.CONTENT_ENCODING, "deflate")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .contentLength(compressedSize)
+                    .body(body);
+        }
+
+        long length = result.getContentLength() != null ? result.getContentLength() : 0;
+        return rangedResponse(length, range, (out, start, count) -> {
+            try (InputStream in = resultBlobStore.openInflated(key)) {
+                StreamUtils.copyRange(in, out, start, start + count - 1);
+            }
+        });
+    }
+
+    /**
+     * Builds a full or partial response depending on the Range header.
+     * Multiple ranges are not supported and are answered with the full content.
+     */
+    private ResponseEntity<StreamingResponseBody> rangedResponse(long length, String range, RangeWriter writer) {
+        long start = 0;
+        long count = length;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+
+        if (range != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.getFirst().getRangeStart(length);
+                    long end = ranges.getFirst().getRangeEnd(length);
+                    count = end - start + 1;
+                    builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+
+        long from = start;
+        long bytes = count;
+        StreamingResponseBody body = out -> {
+            if (bytes > 0) {
+                writer.write(out, from, bytes);
+            }
+        };
+        return builder
+                .contentType(TEXT_UTF8)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentLength(bytes)
+                .body(body);
+    }
+
+    private static boolean acceptsDeflate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("deflate")) {
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface RangeWriter {
+        void write(OutputStream out, long start, long count) throws IOException;
+    }
+}
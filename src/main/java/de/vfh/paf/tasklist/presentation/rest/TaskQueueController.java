@@ -9,6 +9,7 @@ import de.vfh.paf.tasklist.domain.model.TaskQueue;
 import de.vfh.paf.tasklist.domain.model.TaskResult;
 import de.vfh.paf.tasklist.domain.service.TaskQueueService;
 import de.vfh.paf.tasklist.domain.service.TaskService;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,24 +36,37 @@ public class TaskQueueController {
 
     private final TaskQueueService taskQueueService;
     private final TaskService taskService;
+    private final ResourceVersions resourceVersions;
 
-    public TaskQueueController(TaskQueueService taskQueueService, TaskService taskService) {
+    public TaskQueueController(TaskQueueService taskQueueService, TaskService taskService,
+                               ResourceVersions resourceVersions) {
         this.taskQueueService = taskQueueService;
         this.taskService = taskService;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
      * Gets all task queues in the system.
+     * Queues contain tasks, so the ETag covers both the queues and the tasks.
      *
+     * @param ifNoneMatch Optional ETag of a previous response; unchanged queues are answered with 304
      * @return List of all task queues
      */
     @GetMapping
     @Operation(summary = "Get all task queues", description = "Retrieves a list of all task queues in the system")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task queues retrieved successfully",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskQueueDTO.class))))
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskQueueDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Queues unchanged since the given ETag")
     })
-    public ResponseEntity<List<TaskQueueDTO>> getAllQueues() {
+    public ResponseEntity<List<TaskQueueDTO>> getAllQueues(
+            @Parameter(description = "ETag of a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersions.etag(ResourceVersions.QUEUES, ResourceVersions.TASKS);
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
+
         List<TaskQueue> allQueues = taskQueueService.getAllQueues();
         List<TaskQueueDTO> queueDTOs = new ArrayList<>();
         
@@ -70,13 +85,14 @@ public class TaskQueueController {
             queueDTOs.add(dto);
         }
 
-        return ResponseEntity.ok(queueDTOs);
+        return ConditionalRequests.ok(etag).body(queueDTOs);
     }
 
     /**
      * Gets a task queue by ID.
      *
-     * @param id Queue ID
+     * @param id          Queue ID
+     * @param ifNoneMatch Optional ETag of a previous response; an unchanged queue is answered with 304
      * @return Task queue data
      */
     @GetMapping("/{id}")
@@ -84,10 +100,18 @@ public class TaskQueueController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task queue found",
                     content = @Content(schema = @Schema(implementation = TaskQueueDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Queue unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Task queue not found")
     })
     public ResponseEntity<TaskQueueDTO> getQueue(
-            @Parameter(description = "Queue ID", required = true) @PathVariable int id) {
+            @Parameter(description = "Queue ID", required = true) @PathVariable int id,
+            @Parameter(description = "ETag of a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = resourceVersions.etag(ResourceVersions.QUEUES, ResourceVersions.TASKS);
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
+
         TaskQueue queue = taskQueueService.getQueue(id);
 
         if (queue == null) {
@@ -107,7 +131,7 @@ public class TaskQueueController {
         
         dto.setTasks(taskDTOs);
 
-        return ResponseEntity.ok(dto);
+        return ConditionalRequests.ok(etag).body(dto);
     }
 
     /**
@@ -172,27 +196,43 @@ public class TaskQueueController {
     /**
      * Gets all tasks associated with a queue, including current and processed ones.
      *
+     * If a limit or cursor is given, a single page ordered by due date is returned and the cursor
+     * for the next page is sent in the X-Next-Cursor header.
+     *
      * @param id     Queue ID
      * @param taskStatus Optional status filter
+     * @param limit  Optional page size
+     * @param cursor Optional cursor from a previous page
      * @return List of all tasks
      */
     @GetMapping("/{id}/all-tasks")
-    @Operation(summary = "Get all queue tasks", description = "Retrieves all tasks ever associated with the queue, including both current and processed ones")
+    @Operation(summary = "Get all queue tasks", description = "Retrieves all tasks ever associated with the queue, including both current and processed ones, or one page of them if limit or cursor is set")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "404", description = "Task queue not found")
     })
     public ResponseEntity<List<TaskDTO>> getAllQueueTasks(
             @Parameter(description = "Queue ID", required = true) @PathVariable int id,
             @Parameter(description = "Filter tasks by status")
-            @RequestParam(required = false) TaskStatus taskStatus) {
+            @RequestParam(required = false) TaskStatus taskStatus,
+            @Parameter(description = "Maximum number of tasks to return (enables pagination)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor) {
 
         TaskQueue queue = taskQueueService.getQueue(id);
         if (queue == null) {
             return ResponseEntity.notFound().build();
         }
 
+        if (limit != null || cursor != null) {
+            return KeysetResponses.page(cursor, limit, null, (after, pageSize) ->
+                    taskService.findPageAmong(taskQueueService.getAllQueueTaskIds(id), taskStatus, after, pageSize),
+                    TaskDTO::new);
+        }
+
         List<Task> tasks = taskQueueService.getAllQueueTasks(id);
 
         // Filter by status if provided
@@ -408,6 +448,7 @@ public class TaskQueueController {
         }
 
         queue.reorderTasks(orderCriteria);
+        resourceVersions.changed(ResourceVersions.QUEUES);
         return ResponseEntity.ok(new TaskQueueDTO(queue));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package de.vfh.paf.tasklist.presentation.rest;
 
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.application.dto.NotificationDTO;
 import de.vfh.paf.tasklist.application.dto.TaskDTO;
 import de.vfh.paf.tasklist.application.dto.UserDTO;
@@ -9,6 +10,8 @@ import de.vfh.paf.tasklist.domain.model.User;
 import de.vfh.paf.tasklist.domain.service.NotificationService;
 import de.vfh.paf.tasklist.domain.service.TaskService;
 import de.vfh.paf.tasklist.domain.service.UserService;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.infrastructure.persistence.UserRepositoryJpaAdapter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -17,6 +20,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,11 +38,14 @@ public class UserController {
     private final UserService userService;
     private final TaskService taskService;
     private final NotificationService notificationService;
+    private final ResourceVersions resourceVersions;
 
-    public UserController(UserService userService, TaskService taskService, NotificationService notificationService) {
+    public UserController(UserService userService, TaskService taskService, NotificationService notificationService,
+                          ResourceVersions resourceVersions) {
         this.userService = userService;
         this.taskService = taskService;
         this.notificationService = notificationService;
+        this.resourceVersions = resourceVersions;
     }
 
     /**
@@ -47,12 +54,19 @@ public class UserController {
      * @return List of all users
      */
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieves a list of all users in the system")
+    @Operation(summary = "Get all users", description = "Retrieves a list of all users in the system, or one page (in ID order) if limit or cursor is set")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users retrieved successfully",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class))))
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @Parameter(description = "Maximum number of users per page") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor from the " + KeysetPage.NEXT_CURSOR_HEADER + " header of the previous page")
+            @RequestParam(required = false) String cursor) {
+        if (limit != null || cursor != null) {
+            return KeysetResponses.page(cursor, limit, null, userService::findPage, UserDTO::new);
+        }
         List<UserDTO> userDTOs = userService.findAll().stream()
                 .map(UserDTO::new)
                 .collect(Collectors.toList());
@@ -60,6 +74,17 @@ public class UserController {
         return ResponseEntity.ok(userDTOs);
     }
 
+    /**
+     * Gets statistics of the user cache.
+     *
+     * @return Cache size, hits, misses and evictions
+     */
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Get user cache statistics", description = "Returns size, hit rate and evictions of the user cache")
+    public ResponseEntity<UserRepositoryJpaAdapter.Stats> getCacheStats() {
+        return ResponseEntity.ok(userService.getCacheStats());
+    }
+
     /**
      * Gets a user by ID.
      *
@@ -139,24 +164,38 @@ public class UserController {
 
     /**
      * Gets all tasks assigned to a user.
+     * If a limit or cursor is given, a single page ordered by due date is returned and the cursor
+     * for the next page is sent in the X-Next-Cursor header.
      *
-     * @param id User ID
+     * @param id     User ID
+     * @param limit  Optional page size
+     * @param cursor Optional cursor from a previous page
      * @return List of tasks
      */
     @GetMapping("/{id}/tasks")
-    @Operation(summary = "Get user's tasks", description = "Retrieves all tasks assigned to the specified user")
+    @Operation(summary = "Get user's tasks", description = "Retrieves all tasks assigned to the specified user, or one page of them if limit or cursor is set")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     public ResponseEntity<List<TaskDTO>> getUserTasks(
-            @Parameter(description = "User ID", required = true) @PathVariable int id) {
+            @Parameter(description = "User ID", required = true) @PathVariable int id,
+            @Parameter(description = "Maximum number of tasks to return (enables pagination)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor) {
 
         if (userService.findById(id).isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
+        if (limit != null || cursor != null) {
+            return KeysetResponses.page(cursor, limit, null,
+                    (after, pageSize) -> taskService.findPage(id, null, after, pageSize), TaskDTO::new);
+        }
+
         List<Task> tasks = taskService.findByUserId(id);
         List<TaskDTO> taskDTOs = tasks.stream()
                 .map(TaskDTO::new)
@@ -167,21 +206,34 @@ public class UserController {
 
     /**
      * Gets all notifications for a user.
+     * Answers 304 without loading anything if the user's notifications are unchanged since the
+     * ETag in If-None-Match.
      *
-     * @param id User ID
+     * @param id          User ID
+     * @param read        Optional read status filter
+     * @param ifNoneMatch Optional ETag of a previous response
      * @return List of notifications
      */
     @GetMapping("/{id}/notifications")
-    @Operation(summary = "Get user's notifications", description = "Retrieves all notifications for the specified user")
+    @Operation(summary = "Get user's notifications", description = "Retrieves all notifications for the specified user; answers 304 if they are unchanged since the ETag in If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Notifications retrieved successfully",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = NotificationDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Notifications unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "User not found")
     })
     public ResponseEntity<List<NotificationDTO>> getUserNotifications(
             @Parameter(description = "User ID", required = true) @PathVariable int id,
             @Parameter(description = "Filter notifications by read status")
-            @RequestParam(required = false) Boolean read) {
+            @RequestParam(required = false) Boolean read,
+            @Parameter(description = "ETag of a previous response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Read the version before the notifications, so a concurrent change cannot hide behind the ETag
+        String etag = resourceVersions.etag(ResourceVersions.notificationsOf(id));
+        if (ConditionalRequests.isNotModified(ifNoneMatch, etag)) {
+            return ConditionalRequests.notModified(etag);
+        }
 
         if (userService.findById(id).isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -198,7 +250,7 @@ public class UserController {
                 .map(NotificationDTO::new)
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(notificationDTOs);
+        return ConditionalRequests.ok(etag).body(notificationDTOs);
     }
 
     /**
@@ -227,4 +279,4 @@ public class UserController {
 
         return ResponseEntity.ok(new NotificationDTO(notification));
     }
-}
\ No newline at end of file
+}
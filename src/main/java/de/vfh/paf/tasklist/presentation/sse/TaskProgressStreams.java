@@ -0,0 +1,231 @@
+package de.vfh.paf.tasklist.presentation.sse;
+
+import de.vfh.paf.tasklist.application.dto.TaskProgressDTO;
+import de.vfh.paf.tasklist.domain.events.TaskProgressEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events streams of task progress.
+ * Streams are fed from the in-memory progress events of running tasks, so following a task does not
+ * query the database after the initial state. Updates are conflated per stream: each stream holds at
+ * most one pending update, which is replaced by newer ones and sent at most once per interval. A
+ * client that reads slowly therefore only misses intermediate updates and never makes a queue grow.
+ * Idle streams get a comment line as heartbeat, which keeps proxies from closing the connection.
+ * Used by the REST controller, which opens streams, and by the WebSocket layer, which reports status changes.
+ */
+@Component
+public class TaskProgressStreams {
+    private static final Logger logger = LoggerFactory.getLogger(TaskProgressStreams.class);
+
+    private static final String DONE = "DONE";
+
+    private final long timeoutMillis;
+    private final Map<Integer, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    // Writing to a slow client blocks, so every send runs on its own virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates the progress streams.
+     *
+     * @param intervalMillis   The minimum time between two updates of a stream
+     * @param heartbeatSeconds The time between heartbeats
+     * @param timeoutMinutes   How long a stream stays open at most
+     */
+    public TaskProgressStreams(@Value("${tasklist.progress-stream.interval-ms:250}") long intervalMillis,
+                               @Value("${tasklist.progress-stream.heartbeat-seconds:15}") long heartbeatSeconds,
+                               @Value("${tasklist.progress-stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-progress-streams");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flushAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::heartbeatAll, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a progress stream for a task. The current progress is sent right away; a stream of a
+     * finished task is completed after that.
+     * The task may finish after its initial state was loaded but before the stream is registered, in
+     * which case no status change reaches the stream. The status is therefore checked once more after
+     * registering.
+     *
+     * @param initial       The current progress of the task
+     * @param currentStatus Loads the current status of the task
+     * @return The emitter for the response
+     */
+    public SseEmitter open(TaskProgressDTO initial, Supplier<String> currentStatus) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Stream stream = new Stream(initial.getTaskId(), emitter, initial);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        stream.offer(initial, DONE.equals(initial.getStatus()));
+        if (!DONE.equals(initial.getStatus())) {
+            streams.computeIfAbsent(initial.getTaskId(), id -> ConcurrentHashMap.newKeySet()).add(stream);
+            String status = currentStatus.get();
+            if (DONE.equals(status)) {
+                stream.offer(stream.latest.withStatus(status), true);
+            }
+        }
+        stream.flush();
+        return emitter;
+    }
+
+    /**
+     * Passes a progress update to the streams of the task.
+     *
+     * @param event The progress event
+     */
+    @EventListener
+    public void onProgress(TaskProgressEvent event) {
+        Set<Stream> taskStreams = streams.get(event.getTaskId());
+        if (taskStreams != null) {
+            for (Stream stream : taskStreams) {
+                stream.offer(stream.latest.withProgress(event.getProgressData(), event.isCompleted()), false);
+            }
+        }
+    }
+
+    /**
+     * Passes a status change to the streams of the task; streams of finished tasks are completed.
+     * Needed for tasks that do not report progress.
+     *
+     * @param taskId The ID of the task
+     * @param status The new status
+     */
+    public void onStatusChange(int taskId, String status) {
+        Set<Stream> taskStreams = streams.get(taskId);
+        if (taskStreams != null) {
+            for (Stream stream : taskStreams) {
+                stream.offer(stream.latest.withStatus(status), DONE.equals(status));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return The number of open streams
+     */
+    public int getOpenStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        streams.values().forEach(taskStreams -> taskStreams.forEach(stream -> stream.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void flushAll() {
+        streams.values().forEach(taskStreams -> taskStreams.forEach(Stream::flush));
+    }
+
+    private void heartbeatAll() {
+        streams.values().forEach(taskStreams -> taskStreams.forEach(Stream::heartbeat));
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.taskId, (id, taskStreams) -> {
+            taskStreams.remove(stream);
+            return taskStreams.isEmpty() ? null : taskStreams;
+        });
+    }
+
+    /**
+     * One client's stream; at most one update is pending and at most one send is in progress.
+     */
+    private final class Stream {
+        private final int taskId;
+        private final SseEmitter emitter;
+        private final AtomicReference<TaskProgressDTO> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile TaskProgressDTO latest;
+        private volatile boolean last;
+        private volatile boolean closed;
+
+        private Stream(int taskId, SseEmitter emitter, TaskProgressDTO initial) {
+            this.taskId = taskId;
+            this.emitter = emitter;
+            this.latest = initial;
+        }
+
+        void offer(TaskProgressDTO progress, boolean completes) {
+            latest = progress;
+            pending.set(progress);
+            if (completes || DONE.equals(progress.getStatus())) {
+                last = true;
+            }
+        }
+
+        void flush() {
+            if (closed || pending.get() == null || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            senders.execute(() -> {
+                try {
+                    TaskProgressDTO progress = pending.getAndSet(null);
+                    if (progress != null) {
+                        emitter.send(SseEmitter.event().name("progress").data(progress, MediaType.APPLICATION_JSON));
+                    }
+                    if (last && pending.get() == null) {
+                        emitter.complete();
+                        close();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Progress stream of task {} closed: {}", taskId, e.getMessage());
+                    close();
+                } finally {
+                    sending.set(false);
+                }
+            });
+        }
+
+        void heartbeat() {
+            if (closed || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            senders.execute(() -> {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    sending.set(false);
+                }
+            });
+        }
+
+        void close() {
+            closed = true;
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Negotiates the binary (CBOR) encoding of task, queue and progress updates per STOMP subscription.
+ * A client opts in by sending {@code accept:application/cbor} with its SUBSCRIBE frame. The
+ * subscription is then moved to a parallel destination with the suffix {@value #BINARY_SUFFIX}, to
+ * which the {@link TaskUpdatePublisher} sends CBOR frames; subscriptions without the header keep
+ * receiving JSON. Binary frames are only produced while a binary subscription exists.
+ */
+@Component
+public class BinarySubscriptionInterceptor implements ChannelInterceptor {
+
+    public static final String ACCEPT_HEADER = "accept";
+    public static final MimeType CBOR = MimeType.valueOf("application/cbor");
+    public static final String BINARY_SUFFIX = ".cbor";
+
+    private final boolean relayMode;
+    // Binary subscriptions per session (subscription ID -> key) and their count per key, see subscriberKey
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new interceptor.
+     *
+     * @param brokerMode The broker mode; with an external broker, subscriptions of other nodes are not visible here
+     */
+    public BinarySubscriptionInterceptor(@Value("${tasklist.websocket.broker.mode:simple}") String brokerMode) {
+        this.relayMode = "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        String sessionId = accessor.getSessionId();
+        switch (accessor.getCommand()) {
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (destination != null && acceptsBinary(accessor) && supportsBinary(destination)) {
+                    String binaryDestination = destination + BINARY_SUFFIX;
+                    accessor.setDestination(binaryDestination);
+                    String key = subscriberKey(binaryDestination);
+                    sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                            .put(accessor.getSubscriptionId(), key);
+                    subscriberCounts.merge(key, 1, Integer::sum);
+                }
+            }
+            case UNSUBSCRIBE -> {
+                Map<String, String> subscriptions = sessions.get(sessionId);
+                if (subscriptions != null) {
+                    release(subscriptions.remove(accessor.getSubscriptionId()));
+                }
+            }
+            case DISCONNECT -> {
+                Map<String, String> subscriptions = sessions.remove(sessionId);
+                if (subscriptions != null) {
+                    subscriptions.values().forEach(this::release);
+                }
+            }
+            default -> {
+                // Other frames are not affected
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Checks whether binary frames should be sent for a destination.
+     * With an external broker relay, binary subscribers may be connected to other nodes, so binary
+     * frames are always sent.
+     *
+     * @param destination The JSON destination
+     * @return true if a binary variant of the destination has subscribers
+     */
+    public boolean hasBinarySubscribers(String destination) {
+        return relayMode ? supportsBinary(destination)
+                : subscriberCounts.containsKey(subscriberKey(destination + BINARY_SUFFIX));
+    }
+
+    /**
+     * Checks whether updates to a destination are also published in binary form.
+     *
+     * @param destination The destination
+     * @return true for task, queue and progress destinations
+     */
+    public static boolean supportsBinary(String destination) {
+        return destination.startsWith("/topic/tasks/") || destination.startsWith("/topic/queues")
+                || destination.startsWith("/topic/users/")
+                || (destination.startsWith("/user/")
+                && (destination.endsWith("/tasks") || destination.endsWith("/task-results")));
+    }
+
+    /**
+     * Returns the key a binary subscription is counted under. Clients subscribe to user destinations
+     * either without a user ({@code /user/tasks}) or with one ({@code /user/100/tasks}), while updates
+     * are always sent with the user; both are counted per destination without the user, so
+     * subscriptions of either form enable binary frames for every user's destination. The user
+     * destination handler still delivers each frame only to its user's sessions.
+     */
+    static String subscriberKey(String binaryDestination) {
+        if (binaryDestination.startsWith("/user/") && !binaryDestination.startsWith("/user/queue/")) {
+            return "/user" + binaryDestination.substring(binaryDestination.lastIndexOf('/'));
+        }
+        return binaryDestination;
+    }
+
+    private static boolean acceptsBinary(StompHeaderAccessor accessor) {
+        String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+        return accept != null && MimeTypeUtils.parseMimeTypes(accept).stream().anyMatch(CBOR::equalsTypeAndSubtype);
+    }
+
+    private void release(String key) {
+        if (key != null) {
+            subscriberCounts.computeIfPresent(key, (destination, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * WebSocket session decorator with a bounded outbound buffer.
+ * Frames are queued here and written to the client by a separate drain task, so a slow client never
+ * blocks the threads of the client outbound channel. What happens to queued frames depends on their class:
+ * <ul>
+ *     <li>task progress frames are dropped oldest first when the buffer is full,</li>
+ *     <li>frames with a {@value #COALESCE_KEY_HEADER} header (task states) replace a queued frame with the
+ *     same destination and key, since only the latest state matters,</li>
+ *     <li>all other frames (notifications, acknowledgements, ...) are never dropped; if they alone exceed
+ *     the limit, the session is closed and the client resynchronizes after reconnecting.</li>
+ * </ul>
+ * The session is also closed if writing a single frame takes longer than the send time limit.
+ */
+class BufferedSessionDecorator extends WebSocketSessionDecorator {
+    private static final Logger logger = LoggerFactory.getLogger(BufferedSessionDecorator.class);
+
+    static final String COALESCE_KEY_HEADER = "coalesce-key";
+    private static final int MAX_HEADER_LENGTH = 2048;
+
+    enum FrameClass {DROP_OLDEST, COALESCE, RELIABLE}
+
+    private final Executor drainExecutor;
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+
+    // All guarded by this
+    private final Deque<Frame> buffer = new ArrayDeque<>();
+    private final Map<String, Frame> coalescible = new HashMap<>();
+    private int bufferSize;
+    private boolean draining;
+    private boolean limitExceeded;
+    private long sent;
+    private long dropped;
+    private long coalesced;
+
+    private volatile long sendStartTime;
+
+    /**
+     * Creates a new decorator.
+     *
+     * @param session             The session to write to
+     * @param drainExecutor       The executor running the drain tasks, which block while a frame is written
+     * @param sendTimeLimitMillis How long writing one frame may take
+     * @param bufferSizeLimit     How many bytes may be queued
+     */
+    BufferedSessionDecorator(WebSocketSession session, Executor drainExecutor, long sendTimeLimitMillis, int bufferSizeLimit) {
+        super(session);
+        this.drainExecutor = drainExecutor;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        checkSendTime();
+        Frame frame = Frame.of(message);
+        synchronized (this) {
+            if (limitExceeded) {
+                return;
+            }
+            Frame queued = frame.coalesceKey() != null ? coalescible.get(frame.coalesceKey()) : null;
+            if (queued != null) {
+                bufferSize += frame.size - queued.size;
+                queued.message = frame.message;
+                queued.size = frame.size;
+                coalesced++;
+            } else {
+                buffer.add(frame);
+                bufferSize += frame.size;
+                if (frame.coalesceKey() != null) {
+                    coalescible.put(frame.coalesceKey(), frame);
+                }
+            }
+            dropOldestWhileOverLimit();
+            if (bufferSize > bufferSizeLimit) {
+                int size = bufferSize;
+                discardBuffer();
+                limitExceeded = true;
+                throw new SessionLimitExceededException(String.format(
+                        "Buffer size %d bytes for session '%s' exceeds the allowed limit %d", size, getId(), bufferSizeLimit),
+                        CloseStatus.SESSION_NOT_RELIABLE);
+            }
+            if (!draining) {
+                draining = true;
+                drainExecutor.execute(this::drain);
+            }
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        synchronized (this) {
+            discardBuffer();
+        }
+        super.close(status);
+    }
+
+    /**
+     * Returns the statistics of this session.
+     *
+     * @return The statistics
+     */
+    synchronized OutboundBufferRegistry.SessionStats getStats() {
+        return new OutboundBufferRegistry.SessionStats(getId(), buffer.size(), bufferSize, sent, dropped, coalesced);
+    }
+
+    synchronized boolean isLimitExceeded() {
+        return limitExceeded;
+    }
+
+    private void checkSendTime() {
+        long start = sendStartTime;
+        if (start > 0 && System.currentTimeMillis() - start > sendTimeLimitMillis) {
+            synchronized (this) {
+                discardBuffer();
+                limitExceeded = true;
+            }
+            throw new SessionLimitExceededException(String.format(
+                    "Send time %d (ms) for session '%s' exceeded the allowed limit %d",
+                    System.currentTimeMillis() - start, getId(), sendTimeLimitMillis), CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                frame = buffer.poll();
+                if (frame == null) {
+                    draining = false;
+                    return;
+                }
+                bufferSize -= frame.size;
+                if (frame.coalesceKey() != null) {
+                    coalescible.remove(frame.coalesceKey(), frame);
+                }
+            }
+            sendStartTime = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(frame.message);
+                synchronized (this) {
+                    sent++;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Failed to send WebSocket frame to session {}", getId(), e);
+                synchronized (this) {
+                    discardBuffer();
+                    draining = false;
+                }
+                return;
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    private void dropOldestWhileOverLimit() {
+        Iterator<Frame> frames = buffer.iterator();
+        while (bufferSize > bufferSizeLimit && frames.hasNext()) {
+            Frame frame = frames.next();
+            if (frame.frameClass == FrameClass.DROP_OLDEST) {
+                frames.remove();
+                bufferSize -= frame.size;
+                dropped++;
+            }
+        }
+    }
+
+    private void discardBuffer() {
+        buffer.clear();
+        coalescible.clear();
+        bufferSize = 0;
+    }
+
+    /**
+     * Determines how a frame may be discarded.
+     *
+     * @param destination The destination of a MESSAGE frame (null for other frames)
+     * @param coalesceKey The value of the {@value #COALESCE_KEY_HEADER} header (can be null)
+     * @return The class of the frame
+     */
+    static FrameClass classify(String destination, String coalesceKey) {
+        if (destination == null) {
+            return FrameClass.RELIABLE;
+        }
+        if (coalesceKey != null) {
+            return FrameClass.COALESCE;
+        }
+        String jsonDestination = destination.endsWith(BinarySubscriptionInterceptor.BINARY_SUFFIX)
+                ? destination.substring(0, destination.length() - BinarySubscriptionInterceptor.BINARY_SUFFIX.length())
+                : destination;
+        if (jsonDestination.startsWith("/topic/tasks/") && jsonDestination.endsWith("/progress")) {
+            return FrameClass.DROP_OLDEST;
+        }
+        return FrameClass.RELIABLE;
+    }
+
+    /**
+     * A queued frame. Coalesced frames keep their position and get the newer message.
+     */
+    private static final class Frame {
+        private final FrameClass frameClass;
+        private final String destination;
+        private final String key;
+        private WebSocketMessage<?> message;
+        private int size;
+
+        private Frame(WebSocketMessage<?> message, String destination, String key) {
+            this.message = message;
+            this.size = message.getPayloadLength();
+            this.destination = destination;
+            this.key = key;
+            this.frameClass = classify(destination, key);
+        }
+
+        String coalesceKey() {
+            return frameClass == FrameClass.COALESCE ? destination + "|" + key : null;
+        }
+
+        /**
+         * Reads the destination and coalesce key from the headers of a STOMP frame.
+         */
+        static Frame of(WebSocketMessage<?> message) {
+            String head;
+            if (message instanceof TextMessage text) {
+                String payload = text.getPayload();
+                head = payload.substring(0, Math.min(payload.length(), MAX_HEADER_LENGTH));
+            } else if (message instanceof BinaryMessage binary) {
+                ByteBuffer payload = binary.getPayload().duplicate();
+                byte[] bytes = new byte[Math.min(payload.remaining(), MAX_HEADER_LENGTH)];
+                payload.get(bytes);
+                head = new String(bytes, StandardCharsets.UTF_8);
+            } else {
+                return new Frame(message, null, null);
+            }
+
+            String[] lines = head.split("\r?\n", -1);
+            if (lines.length == 0 || !"MESSAGE".equals(lines[0])) {
+                return new Frame(message, null, null);
+            }
+            String destination = null;
+            String key = null;
+            for (int i = 1; i < lines.length && !lines[i].isEmpty(); i++) {
+                String line = lines[i];
+                if (line.startsWith("destination:") && destination == null) {
+                    destination = line.substring("destination:".length());
+                } else if (line.startsWith(COALESCE_KEY_HEADER + ":") && key == null) {
+                    key = line.substring(COALESCE_KEY_HEADER.length() + 1);
+                }
+            }
+            return new Frame(message, destination, key);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Builds WebSocket messages from payloads that are already serialized (usually to JSON).
+ * Sending such a message skips the message converter, so one serialized payload can be sent to
+ * several destinations without running Jackson again for each of them.
+ */
+final class JsonMessages {
+
+    private JsonMessages() {
+    }
+
+    /**
+     * Wraps a serialized JSON payload in a message.
+     *
+     * @param json The JSON payload
+     * @return The message with a JSON content type
+     */
+    static Message<byte[]> of(byte[] json) {
+        return of(json, MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    /**
+     * Wraps a serialized payload of another content type (e.g. CBOR) in a message.
+     *
+     * @param payload     The serialized payload
+     * @param contentType The content type of the payload
+     * @return The message
+     */
+    static Message<byte[]> of(byte[] payload, MimeType contentType) {
+        return of(payload, contentType, null);
+    }
+
+    /**
+     * Wraps a serialized payload in a message that may be coalesced in outbound buffers.
+     *
+     * @param payload     The serialized payload
+     * @param contentType The content type of the payload
+     * @param coalesceKey Key under which a newer message may replace this one while it waits in a
+     *                    session's outbound buffer (can be null)
+     * @return The message
+     */
+    static Message<byte[]> of(byte[] payload, MimeType contentType, String coalesceKey) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(contentType);
+        if (coalesceKey != null) {
+            headers.setNativeHeader(BufferedSessionDecorator.COALESCE_KEY_HEADER, coalesceKey);
+        }
+        // Left mutable so that the messaging template can still add the destination header
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,243 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationStatusChangeDTO;
+import de.vfh.paf.tasklist.domain.report.LatencyHistogram;
+import de.vfh.paf.tasklist.domain.service.NotificationDelivery;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivery stage for notification WebSocket messages.
+ * Notifications are buffered for a short window, grouped per destination and sent as one JSON array
+ * per destination, so a burst of notifications (e.g. from the overdue sweep) results in one frame per
+ * destination instead of one frame per notification. Each notification is serialized only once, even
+ * if it is sent to several destinations.
+ */
+@Component
+public class NotificationDispatcher implements NotificationDelivery {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    public static final String NOTIFICATIONS_TOPIC = "/topic/notifications";
+    public static final String SYSTEM_TOPIC = "/topic/system";
+    public static final String USER_NOTIFICATIONS_QUEUE = "/queue/notifications";
+    public static final String USER_STATUS_QUEUE = "/queue/notifications.status";
+    // Matches the user destination prefix configured in WebSocketConfig
+    private static final String USER_DESTINATION_PREFIX = "/user/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object bufferLock = new Object();
+    private final Object flushLock = new Object();
+    private Map<String, List<Pending>> buffer = new LinkedHashMap<>();
+    private int bufferedCount;
+    private boolean flushScheduled;
+
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private long frames;
+    private long notifications;
+    private int largestBatch;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param messagingTemplate The WebSocket messaging template
+     * @param objectMapper      The application's object mapper (a default mapper is used if there is none)
+     * @param windowMillis      How long notifications are buffered before they are sent
+     * @param maxBatchSize      Number of buffered notifications that triggers an immediate send
+     */
+    public NotificationDispatcher(SimpMessagingTemplate messagingTemplate,
+                                  ObjectProvider<ObjectMapper> objectMapper,
+                                  @Value("${tasklist.websocket.batch-window-ms:20}") long windowMillis,
+                                  @Value("${tasklist.websocket.max-batch-size:500}") int maxBatchSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build());
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues user notifications for the general notification topic and the queue of their user.
+     *
+     * @param dtos The notifications to deliver
+     */
+    @Override
+    public void dispatch(List<NotificationDTO> dtos) {
+        long now = System.nanoTime();
+        synchronized (bufferLock) {
+            for (NotificationDTO dto : dtos) {
+                Pending pending = new Pending(dto, now);
+                add(NOTIFICATIONS_TOPIC, pending);
+                add(USER_DESTINATION_PREFIX + dto.getUserId() + USER_NOTIFICATIONS_QUEUE, pending);
+            }
+            bufferedCount += dtos.size();
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues a system notification for the system topic.
+     *
+     * @param dto The notification to broadcast
+     */
+    @Override
+    public void dispatchSystem(NotificationDTO dto) {
+        synchronized (bufferLock) {
+            add(SYSTEM_TOPIC, new Pending(dto, System.nanoTime()));
+            bufferedCount++;
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Sends a bulk status change to the user's status queue right away.
+     *
+     * @param change The status change
+     */
+    @Override
+    public void dispatchStatusChange(NotificationStatusChangeDTO change) {
+        try {
+            messagingTemplate.convertAndSend(USER_DESTINATION_PREFIX + change.userId() + USER_STATUS_QUEUE, change);
+        } catch (RuntimeException e) {
+            logger.error("Failed to deliver status change to user {}", change.userId(), e);
+        }
+    }
+
+    /**
+     * Sends all buffered notifications now.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, List<Pending>> batch;
+            synchronized (bufferLock) {
+                batch = buffer;
+                buffer = new LinkedHashMap<>();
+                bufferedCount = 0;
+                flushScheduled = false;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Map<NotificationDTO, byte[]> serialized = new IdentityHashMap<>();
+            for (Map.Entry<String, List<Pending>> entry : batch.entrySet()) {
+                try {
+                    send(entry.getKey(), entry.getValue(), serialized);
+                } catch (RuntimeException | JsonProcessingException e) {
+                    logger.error("Failed to deliver {} notifications to {}", entry.getValue().size(), entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns delivery statistics since startup.
+     *
+     * @return The statistics
+     */
+    public Stats getStats() {
+        synchronized (deliveryLatency) {
+            return new Stats(frames, notifications, frames == 0 ? 0 : (double) notifications / frames, largestBatch,
+                    deliveryLatency.percentile(50), deliveryLatency.percentile(95),
+                    deliveryLatency.percentile(99), deliveryLatency.getMax());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private void add(String destination, Pending pending) {
+        buffer.computeIfAbsent(destination, key -> new ArrayList<>()).add(pending);
+    }
+
+    private void scheduleFlush() {
+        if (bufferedCount >= maxBatchSize) {
+            scheduler.execute(this::flush);
+            flushScheduled = true;
+        } else if (!flushScheduled) {
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            flushScheduled = true;
+        }
+    }
+
+    private void send(String destination, List<Pending> batch, Map<NotificationDTO, byte[]> serialized)
+            throws JsonProcessingException {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(batch.size() * 256);
+        frame.write('[');
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                frame.write(',');
+            }
+            NotificationDTO dto = batch.get(i).notification();
+            byte[] json = serialized.get(dto);
+            if (json == null) {
+                json = objectMapper.writeValueAsBytes(dto);
+                serialized.put(dto, json);
+            }
+            frame.writeBytes(json);
+        }
+        frame.write(']');
+
+        // The payload is already JSON, so it is sent as is instead of going through the message converter
+        messagingTemplate.send(destination, JsonMessages.of(frame.toByteArray()));
+
+        long now = System.nanoTime();
+        synchronized (deliveryLatency) {
+            frames++;
+            notifications += batch.size();
+            largestBatch = Math.max(largestBatch, batch.size());
+            for (Pending pending : batch) {
+                deliveryLatency.record(TimeUnit.NANOSECONDS.toMillis(now - pending.enqueuedAt()));
+            }
+        }
+    }
+
+    private record Pending(NotificationDTO notification, long enqueuedAt) {
+    }
+
+    /**
+     * Delivery statistics.
+     *
+     * @param frames            Number of WebSocket frames sent
+     * @param notifications     Number of notifications delivered (counted once per destination)
+     * @param averageBatchSize  Average number of notifications per frame
+     * @param largestBatch      Largest number of notifications in one frame
+     * @param latencyP50Millis  Median time from dispatch to send
+     * @param latencyP95Millis  95th percentile of the time from dispatch to send
+     * @param latencyP99Millis  99th percentile of the time from dispatch to send
+     * @param latencyMaxMillis  Maximum time from dispatch to send
+     */
+    public record Stats(long frames, long notifications, double averageBatchSize, int largestBatch,
+                        long latencyP50Millis, long latencyP95Millis, long latencyP99Millis, long latencyMaxMillis) {
+    }
+}
@@ -1,6 +1,7 @@
 package de.vfh.paf.tasklist.presentation.websocket;
 
 import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationSyncDTO;
 import de.vfh.paf.tasklist.domain.model.Notification;
 import de.vfh.paf.tasklist.domain.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +14,7 @@ import org.springframework.stereotype.Controller;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * WebSocket controller for handling real-time notifications.
@@ -30,26 +31,25 @@ public class NotificationWebSocketController {
 
     /**
      * Handles subscription to notifications from clients.
-     * Returns ALL notifications for the requested user (both read and unread).
+     * The client sends the ID of the newest notification it already has as {@code lastSeenId} and
+     * receives only newer notifications plus the current unread count. Without a last-seen ID the most
+     * recent notifications are returned. If {@code hasMore} is set in the response, the client
+     * subscribes again with the returned {@code lastSeenId}.
      *
-     * @param message The message containing userId
-     * @return List of notifications
+     * @param message The message containing userId and optionally lastSeenId and limit
+     * @return The notifications the client has not seen yet
      */
     @MessageMapping("/notifications.subscribe")
-    @SendToUser("/queue/notifications")
-    public List<NotificationDTO> subscribeToNotifications(@Payload Map<String, Object> message) {
-        Integer userId = (Integer) message.get("userId");
+    @SendToUser("/queue/notifications.sync")
+    public NotificationSyncDTO subscribeToNotifications(@Payload Map<String, Object> message) {
+        Integer userId = asInteger(message.get("userId"));
         if (userId == null) {
-            return List.of();
+            return new NotificationSyncDTO(0, List.of(), 0, 0, false);
         }
 
-        // Get ALL notifications for the user (not just unread)
-        List<Notification> notifications = notificationService.findByUserId(userId);
-
-        // Return as DTOs directly (no more NotificationPayload)
-        return notifications.stream()
-                .map(NotificationDTO::new)
-                .collect(Collectors.toList());
+        Integer lastSeenId = asInteger(message.get("lastSeenId"));
+        int limit = NotificationSyncDTO.normalizeLimit(asInteger(message.get("limit")));
+        return notificationService.syncSince(userId, lastSeenId, limit);
     }
 
     /**
@@ -78,6 +78,35 @@ public class NotificationWebSocketController {
         );
     }
 
+    /**
+     * Marks several or all notifications of a user as read with a single update.
+     * The changed notifications are announced with one event on the user's status queue.
+     *
+     * @param message The message containing userId and either notificationIds or all=true
+     * @return Acknowledgment message with the number of updated notifications
+     */
+    @MessageMapping("/notifications.markReadBulk")
+    @SendToUser("/queue/notifications.ack")
+    public Map<String, Object> markNotificationsAsRead(@Payload Map<String, Object> message) {
+        Integer userId = asInteger(message.get("userId"));
+        if (userId == null) {
+            return Map.of("success", false, "message", "Missing user ID");
+        }
+
+        int updated;
+        if (Boolean.TRUE.equals(message.get("all"))) {
+            updated = notificationService.markAllAsRead(userId);
+        } else if (message.get("notificationIds") instanceof List<?> ids) {
+            updated = notificationService.markAsRead(userId, ids.stream().map(NotificationWebSocketController::asInteger)
+                    .filter(Objects::nonNull)
+                    .toList());
+        } else {
+            return Map.of("success", false, "message", "Missing notification IDs");
+        }
+
+        return Map.of("success", true, "updated", updated);
+    }
+
     /**
      * Broadcasts a notification to all connected clients.
      * This method is primarily for testing purposes.
@@ -106,4 +135,8 @@ public class NotificationWebSocketController {
         
         return dto;
     }
-}
\ No newline at end of file
+
+    private static Integer asInteger(Object value) {
+        return value instanceof Number number ? number.intValue() : null;
+    }
+}
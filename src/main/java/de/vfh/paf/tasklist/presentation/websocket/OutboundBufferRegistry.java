@@ -0,0 +1,135 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives every WebSocket session a bounded outbound buffer (see {@link BufferedSessionDecorator}) and
+ * collects the per-session statistics of dropped and coalesced frames.
+ * Each session with queued frames is drained by its own virtual thread, so stalled clients only
+ * block their own thread.
+ */
+@Component
+public class OutboundBufferRegistry implements WebSocketHandlerDecoratorFactory {
+
+    private static final int MAX_REPORTED_SESSIONS = 100;
+
+    private final long sendTimeLimitMillis;
+    private final int bufferSizeLimit;
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, BufferedSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    // Totals of sessions that have ended
+    private final AtomicLong endedDropped = new AtomicLong();
+    private final AtomicLong endedCoalesced = new AtomicLong();
+    private final AtomicLong sessionsClosedAsSlow = new AtomicLong();
+
+    /**
+     * Creates a new registry.
+     *
+     * @param sendTimeLimitMillis How long writing one frame to a client may take before the session is closed
+     * @param bufferSizeLimit     How many bytes may be queued per session
+     */
+    public OutboundBufferRegistry(@Value("${tasklist.websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMillis,
+                                  @Value("${tasklist.websocket.outbound.buffer-size-limit:524288}") int bufferSizeLimit) {
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.bufferSizeLimit = bufferSizeLimit;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BufferedSessionDecorator buffered =
+                        new BufferedSessionDecorator(session, drainExecutor, sendTimeLimitMillis, bufferSizeLimit);
+                sessions.put(session.getId(), buffered);
+                super.afterConnectionEstablished(buffered);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BufferedSessionDecorator buffered = sessions.remove(session.getId());
+                if (buffered != null) {
+                    SessionStats stats = buffered.getStats();
+                    endedDropped.addAndGet(stats.dropped());
+                    endedCoalesced.addAndGet(stats.coalesced());
+                    if (buffered.isLimitExceeded()) {
+                        sessionsClosedAsSlow.incrementAndGet();
+                    }
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Returns buffer statistics: totals since startup and the open sessions with the fullest buffers.
+     *
+     * @return The statistics
+     */
+    public Stats getStats() {
+        List<SessionStats> open = sessions.values().stream()
+                .map(BufferedSessionDecorator::getStats)
+                .toList();
+        List<SessionStats> fullest = open.stream()
+                .sorted(Comparator.comparingLong(SessionStats::bufferedBytes)
+                        .thenComparingLong(stats -> stats.dropped() + stats.coalesced())
+                        .reversed())
+                .limit(MAX_REPORTED_SESSIONS)
+                .toList();
+        return new Stats(open.size(),
+                open.stream().mapToLong(SessionStats::bufferedBytes).sum(),
+                endedDropped.get() + open.stream().mapToLong(SessionStats::dropped).sum(),
+                endedCoalesced.get() + open.stream().mapToLong(SessionStats::coalesced).sum(),
+                sessionsClosedAsSlow.get(),
+                fullest);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainExecutor.shutdownNow();
+    }
+
+    /**
+     * Outbound buffer statistics.
+     *
+     * @param sessions             Number of open sessions
+     * @param bufferedBytes        Bytes currently queued over all sessions
+     * @param dropped              Progress frames dropped since startup
+     * @param coalesced            Task state frames replaced by a newer state since startup
+     * @param sessionsClosedAsSlow Sessions closed because they exceeded the buffer or send time limit
+     * @param fullestSessions      The open sessions with the most queued bytes
+     */
+    public record Stats(int sessions, long bufferedBytes, long dropped, long coalesced, long sessionsClosedAsSlow,
+                        List<SessionStats> fullestSessions) {
+    }
+
+    /**
+     * Outbound buffer statistics of one session.
+     *
+     * @param sessionId      The WebSocket session ID
+     * @param bufferedFrames Frames currently queued
+     * @param bufferedBytes  Bytes currently queued
+     * @param sent           Frames written to the client
+     * @param dropped        Progress frames dropped
+     * @param coalesced      Task state frames replaced by a newer state
+     */
+    public record SessionStats(String sessionId, int bufferedFrames, long bufferedBytes, long sent, long dropped,
+                               long coalesced) {
+    }
+}
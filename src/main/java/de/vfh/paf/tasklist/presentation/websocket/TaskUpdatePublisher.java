@@ -0,0 +1,268 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing stage for task WebSocket updates.
+ * Every event is serialized once and the same bytes are sent to all of its destinations. Task state
+ * updates are additionally conflated per task: within a short window only the latest state of each
+ * task is sent, so a task that moves from RUNNING to DONE within the window produces one update.
+ * Clients that negotiated binary frames (see {@link BinarySubscriptionInterceptor}) receive the same
+ * events encoded as CBOR on a parallel destination; the CBOR encoding also happens once per event.
+ */
+@Component
+public class TaskUpdatePublisher {
+    private static final Logger logger = LoggerFactory.getLogger(TaskUpdatePublisher.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final BinarySubscriptionInterceptor binarySubscriptions;
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private Map<Integer, Pending> pendingStates = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    private long published;
+    private long conflated;
+    private final EncodingStats jsonStats = new EncodingStats();
+    private final EncodingStats binaryStats = new EncodingStats();
+
+    /**
+     * Creates a new publisher.
+     *
+     * @param messagingTemplate   The WebSocket messaging template
+     * @param objectMapper        The application's object mapper (a default mapper is used if there is none)
+     * @param binarySubscriptions The registry of subscriptions that negotiated binary frames
+     * @param windowMillis        How long task state updates are held for conflation (0 sends them immediately)
+     */
+    public TaskUpdatePublisher(SimpMessagingTemplate messagingTemplate,
+                               ObjectProvider<ObjectMapper> objectMapper,
+                               BinarySubscriptionInterceptor binarySubscriptions,
+                               @Value("${tasklist.websocket.task-update-window-ms:50}") long windowMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build());
+        // Same date and property settings as the JSON frames, so clients only have to swap the decoder
+        this.cborMapper = this.objectMapper.copyWith(new CBORFactory());
+        this.binarySubscriptions = binarySubscriptions;
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-update-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends an event to several destinations right away, serializing it only once.
+     *
+     * @param payload      The event
+     * @param destinations The destinations
+     */
+    public void publish(Object payload, List<String> destinations) {
+        publish(payload, destinations, null);
+    }
+
+    private void publish(Object payload, List<String> destinations, String coalesceKey) {
+        Frames frames = new Frames(payload);
+        if (frames.json() == null) {
+            return;
+        }
+        for (String destination : destinations) {
+            send(destination, JsonMessages.of(frames.json(), MimeTypeUtils.APPLICATION_JSON, coalesceKey),
+                    jsonStats, frames.json().length);
+            if (binarySubscriptions.hasBinarySubscribers(destination) && frames.binary() != null) {
+                send(destination + BinarySubscriptionInterceptor.BINARY_SUFFIX,
+                        JsonMessages.of(frames.binary(), BinarySubscriptionInterceptor.CBOR, coalesceKey),
+                        binaryStats, frames.binary().length);
+            }
+        }
+        synchronized (lock) {
+            published++;
+        }
+    }
+
+    /**
+     * Queues the current state of a task. A state queued earlier for the same task that has not
+     * been sent yet is replaced.
+     *
+     * @param taskId       The ID of the task
+     * @param state        The state event
+     * @param destinations The destinations
+     */
+    public void publishTaskState(int taskId, Object state, List<String> destinations) {
+        if (windowMillis <= 0) {
+            publish(state, destinations, coalesceKey(taskId));
+            return;
+        }
+        synchronized (lock) {
+            if (pendingStates.put(taskId, new Pending(state, destinations, coalesceKey(taskId))) != null) {
+                conflated++;
+            }
+            if (!flushScheduled) {
+                scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                flushScheduled = true;
+            }
+        }
+    }
+
+    /**
+     * Sends all queued task states now.
+     * Called before events that must not overtake a task's latest state, such as its result.
+     */
+    public void flush() {
+        // Serializes flushes so that an older state of a task can never be sent after a newer one
+        synchronized (flushLock) {
+            Map<Integer, Pending> batch;
+            synchronized (lock) {
+                batch = pendingStates;
+                pendingStates = new LinkedHashMap<>();
+                flushScheduled = false;
+            }
+            batch.values().forEach(pending ->
+                    publish(pending.payload(), pending.destinations(), pending.coalesceKey()));
+        }
+    }
+
+    /**
+     * Returns publishing statistics since startup.
+     *
+     * @return The statistics
+     */
+    public Stats getStats() {
+        synchronized (lock) {
+            return new Stats(published, conflated,
+                    jsonStats.frames, jsonStats.bytesPerFrame(), jsonStats.encodeMicros(),
+                    binaryStats.frames, binaryStats.bytesPerFrame(), binaryStats.encodeMicros());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+    }
+
+    private byte[] encode(ObjectMapper mapper, Object payload, EncodingStats stats) {
+        long start = System.nanoTime();
+        try {
+            byte[] encoded = mapper.writeValueAsBytes(payload);
+            long elapsed = System.nanoTime() - start;
+            synchronized (lock) {
+                stats.encodings++;
+                stats.encodeNanos += elapsed;
+            }
+            return encoded;
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize WebSocket update {}", payload.getClass().getSimpleName(), e);
+            return null;
+        }
+    }
+
+    private void send(String destination, Message<byte[]> message, EncodingStats stats, int size) {
+        try {
+            messagingTemplate.send(destination, message);
+            synchronized (lock) {
+                stats.frames++;
+                stats.bytes += size;
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to send WebSocket update to {}", destination, e);
+        }
+    }
+
+    /**
+     * Key under which a newer state of the task replaces an older one that still waits in a session's
+     * outbound buffer (see {@link BufferedSessionDecorator}).
+     */
+    private static String coalesceKey(int taskId) {
+        return "task-" + taskId;
+    }
+
+    private record Pending(Object payload, List<String> destinations, String coalesceKey) {
+    }
+
+    /**
+     * The encoded forms of one event; the CBOR form is only produced when first needed.
+     */
+    private final class Frames {
+        private final Object payload;
+        private final byte[] json;
+        private byte[] binary;
+        private boolean binaryEncoded;
+
+        Frames(Object payload) {
+            this.payload = payload;
+            this.json = encode(objectMapper, payload, jsonStats);
+        }
+
+        byte[] json() {
+            return json;
+        }
+
+        byte[] binary() {
+            if (!binaryEncoded) {
+                binary = encode(cborMapper, payload, binaryStats);
+                binaryEncoded = true;
+            }
+            return binary;
+        }
+    }
+
+    /**
+     * Counters for one encoding; guarded by the publisher's lock.
+     */
+    private static final class EncodingStats {
+        private long encodings;
+        private long encodeNanos;
+        private long frames;
+        private long bytes;
+
+        double bytesPerFrame() {
+            return frames == 0 ? 0 : (double) bytes / frames;
+        }
+
+        double encodeMicros() {
+            return encodings == 0 ? 0 : encodeNanos / 1000.0 / encodings;
+        }
+    }
+
+    /**
+     * Publishing statistics, including a comparison of the JSON and the binary encoding.
+     *
+     * @param published           Number of events sent (each to all of its destinations)
+     * @param conflated           Number of task state updates replaced by a newer state before being sent
+     * @param jsonFrames          Number of JSON frames sent
+     * @param jsonBytesPerFrame   Average size of a JSON frame payload
+     * @param jsonEncodeMicros    Average time to serialize an event to JSON
+     * @param binaryFrames        Number of CBOR frames sent
+     * @param binaryBytesPerFrame Average size of a CBOR frame payload
+     * @param binaryEncodeMicros  Average time to serialize an event to CBOR
+     */
+    public record Stats(long published, long conflated,
+                        long jsonFrames, double jsonBytesPerFrame, double jsonEncodeMicros,
+                        long binaryFrames, double binaryBytesPerFrame, double binaryEncodeMicros) {
+    }
+}
@@ -5,22 +5,31 @@ import de.vfh.paf.tasklist.application.dto.TaskResultDTO;
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.model.TaskResult;
 import de.vfh.paf.tasklist.domain.tasks.CalculatePiTask;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import de.vfh.paf.tasklist.presentation.sse.TaskProgressStreams;
 import org.springframework.stereotype.Controller;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * WebSocket controller for task-related real-time updates.
+ * Updates go through the {@link TaskUpdatePublisher}, which serializes each update once for all of
+ * its destinations and conflates rapid state changes of the same task. Besides the global topics,
+ * each update is sent to topics of its task, queue and assigned user, so clients can subscribe to
+ * just the events they display. The broker does the filtering, which also works across nodes when
+ * the broker relay is used.
  */
 @Controller
 public class TaskWebSocketController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final TaskUpdatePublisher publisher;
+    private final TaskProgressStreams progressStreams;
 
-    public TaskWebSocketController(SimpMessagingTemplate messagingTemplate) {
-        this.messagingTemplate = messagingTemplate;
+    public TaskWebSocketController(TaskUpdatePublisher publisher, TaskProgressStreams progressStreams) {
+        this.publisher = publisher;
+        this.progressStreams = progressStreams;
     }
 
     /**
@@ -30,19 +39,21 @@ public class TaskWebSocketController {
      */
     public void sendTaskStatusUpdate(Task task) {
         try {
-            // Convert to DTO for the client
+            // Convert to DTO for the client; the DTO is a snapshot, so later changes to the task do not leak in
             TaskDTO taskDTO = new TaskDTO(task);
 
-            // Send to the general task update topic
-            messagingTemplate.convertAndSend("/topic/tasks/status", taskDTO);
-
-            // Send to the specific task topic
-            messagingTemplate.convertAndSend("/topic/tasks/" + task.getId() + "/status", taskDTO);
-
-            // If the task belongs to a user, send to their personalized topic
+            // General task update topic, specific task topic and, if assigned, the user's topics
+            List<String> destinations = new ArrayList<>(4);
+            destinations.add("/topic/tasks/status");
+            destinations.add("/topic/tasks/" + task.getId() + "/status");
             if (task.getAssignedUserId() != null) {
-                messagingTemplate.convertAndSend("/user/" + task.getAssignedUserId() + "/tasks", taskDTO);
+                destinations.add("/user/" + task.getAssignedUserId() + "/tasks");
+                destinations.add("/topic/users/" + task.getAssignedUserId() + "/tasks/status");
             }
+            publisher.publishTaskState(task.getId(), taskDTO, destinations);
+
+            // Server-Sent Events progress streams of the task, which end when the task is done
+            progressStreams.onStatusChange(task.getId(), task.getStatus().toString());
         } catch (Exception e) {
             // Log the error but don't let it crash the application
             System.err.println("Error sending task status update for task ID " + task.getId() + ": " + e.getMessage());
@@ -68,16 +79,18 @@ public class TaskWebSocketController {
                     "status", task.getStatus().toString()
             );
 
-            // Send to the general task results topic
-            messagingTemplate.convertAndSend("/topic/tasks/results", payload);
-
-            // Send to the specific task topic
-            messagingTemplate.convertAndSend("/topic/tasks/" + task.getId() + "/result", payload);
-
-            // If the task belongs to a user, send to their personalized topic
+            // General task results topic, specific task topic and, if assigned, the user's topics
+            List<String> destinations = new ArrayList<>(4);
+            destinations.add("/topic/tasks/results");
+            destinations.add("/topic/tasks/" + task.getId() + "/result");
             if (task.getAssignedUserId() != null) {
-                messagingTemplate.convertAndSend("/user/" + task.getAssignedUserId() + "/task-results", payload);
+                destinations.add("/user/" + task.getAssignedUserId() + "/task-results");
+                destinations.add("/topic/users/" + task.getAssignedUserId() + "/tasks/results");
             }
+
+            // The result must not arrive before the task's final state
+            publisher.flush();
+            publisher.publish(payload, destinations);
         } catch (Exception e) {
             // Log the error but don't let it crash the application
             System.err.println("Error sending task result update for task ID " + task.getId() + ": " + e.getMessage());
@@ -111,11 +124,8 @@ public class TaskWebSocketController {
                 );
             }
 
-            // Send to the general queues topic
-            messagingTemplate.convertAndSend("/topic/queues", payload);
-
-            // Send to the specific queue topic
-            messagingTemplate.convertAndSend("/topic/queues/" + queueId, payload);
+            // Send to the general queues topic and the specific queue topic
+            publisher.publish(payload, List.of("/topic/queues", "/topic/queues/" + queueId));
         } catch (Exception e) {
             // Log the error but don't let it crash the application
             System.err.println("Error sending queue update for queue ID " + queueId + ": " + e.getMessage());
@@ -151,8 +161,8 @@ public class TaskWebSocketController {
             boolean completed = (progressData.getCurrentIteration() >= progressData.getTotalIterations());
             payload.put("completed", completed);
 
-            // Sende alle Fortschrittsupdates an einen festen Topic
-            messagingTemplate.convertAndSend("/topic/tasks/progress", payload);
+            // Sende alle Fortschrittsupdates an einen festen Topic und an den Topic der Aufgabe
+            publisher.publish(payload, List.of("/topic/tasks/progress", "/topic/tasks/" + taskId + "/progress"));
         } catch (Exception e) {
             System.err.println("Error sending task progress update for task ID " + taskId + ": " + e.getMessage());
         }
@@ -0,0 +1,56 @@
+-- Baseline schema as previously generated by Hibernate (ddl-auto: update).
+-- Existing databases are baselined at this version and only receive the later migrations.
+
+CREATE TABLE app_users (
+    id    INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name  VARCHAR(255),
+    email VARCHAR(255),
+    CONSTRAINT app_users_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE tasks (
+    id               INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    title            VARCHAR(255),
+    description      VARCHAR(255),
+    due_date         TIMESTAMP(6),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    completed_at     TIMESTAMP(6),
+    task_status      VARCHAR(255),
+    assigned_user_id INTEGER,
+    task_class_name  VARCHAR(255),
+    CONSTRAINT tasks_pkey PRIMARY KEY (id),
+    CONSTRAINT tasks_task_status_check CHECK (task_status IN ('CREATED', 'QUEUED', 'RUNNING', 'DONE'))
+);
+
+CREATE TABLE task_dependencies (
+    task_id       INTEGER NOT NULL,
+    dependency_id INTEGER NOT NULL,
+    CONSTRAINT fk_task_dependencies_task FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT fk_task_dependencies_dependency FOREIGN KEY (dependency_id) REFERENCES tasks (id)
+);
+
+CREATE TABLE task_results (
+    id        INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    title     VARCHAR(255),
+    content   VARCHAR(4000),
+    timestamp TIMESTAMP(6),
+    task_id   INTEGER,
+    CONSTRAINT task_results_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE notifications (
+    id              INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    user_id         INTEGER,
+    message         VARCHAR(1000),
+    urgency         VARCHAR(255),
+    type            VARCHAR(255),
+    related_task_id INTEGER,
+    created_at      TIMESTAMP(6),
+    sent_at         TIMESTAMP(6),
+    delivered_at    TIMESTAMP(6),
+    read_at         TIMESTAMP(6),
+    status          VARCHAR(255),
+    CONSTRAINT notifications_pkey PRIMARY KEY (id),
+    CONSTRAINT notifications_status_check CHECK (status IN ('CREATED', 'SENT', 'DELIVERED', 'READ', 'ARCHIVED'))
+);
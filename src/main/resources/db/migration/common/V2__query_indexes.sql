@@ -0,0 +1,31 @@
+-- Composite indexes matched to the queries in TaskRepository, TaskResultRepository and NotificationRepository.
+-- IF NOT EXISTS because earlier versions created some of these through JPA @Index annotations.
+
+-- findByTaskStatus, findReadyToRun, findPageIdsByTaskStatus: status equality, then due date order
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due_date ON tasks (task_status, due_date, id);
+
+-- findByAssignedUserIdAndTaskStatus, findPageIdsByAssignedUserIdAndTaskStatus
+CREATE INDEX IF NOT EXISTS idx_tasks_user_status_due_date ON tasks (assigned_user_id, task_status, due_date, id);
+
+-- findPageIds: keyset pagination over (due_date, id)
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date, id);
+
+-- findAllByAssignedUserId, findPageIdsByAssignedUserId
+CREATE INDEX IF NOT EXISTS idx_tasks_user_due_date ON tasks (assigned_user_id, due_date, id);
+
+-- Dependency lookups in both directions (findTasksByDependency, readiness checks)
+CREATE INDEX IF NOT EXISTS idx_task_dependencies_task ON task_dependencies (task_id, dependency_id);
+CREATE INDEX IF NOT EXISTS idx_task_dependencies_dependency ON task_dependencies (dependency_id, task_id);
+
+-- findByTaskId, findFirstByTaskIdOrderByIdDesc, findLatestByTaskIds
+CREATE INDEX IF NOT EXISTS idx_task_results_task ON task_results (task_id, id);
+
+-- findByTypeAndRelatedTaskId, findUnreadByTypeAndRelatedTaskId, duplicate checks
+CREATE INDEX IF NOT EXISTS idx_notifications_type_related_task ON notifications (type, related_task_id, user_id);
+
+-- findByUserIdAndReadStatus, findPageByUserIdAndReadStatusBefore
+CREATE INDEX IF NOT EXISTS idx_notifications_user_status_created_at ON notifications (user_id, status, created_at);
+
+-- findPageBefore, findPageByUserIdBefore: keyset pagination over (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_at ON notifications (user_id, created_at, id);
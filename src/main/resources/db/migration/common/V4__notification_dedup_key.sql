@@ -0,0 +1,12 @@
+-- Deduplication key for notifications. Unique while set; NULLs do not conflict, so keys that only
+-- apply to unread notifications are released by clearing them when the notification is read.
+ALTER TABLE notifications ADD COLUMN dedup_key VARCHAR(255);
+
+-- Existing task notifications keep blocking duplicates: the oldest one of each type and task takes the key
+UPDATE notifications SET dedup_key = 'task:' || type || ':' || related_task_id
+WHERE related_task_id IS NOT NULL
+  AND type IN ('TASK_OVERDUE', 'TASK_STARTED', 'TASK_COMPLETED', 'TASK_ERROR', 'DEADLOCK_DETECTED')
+  AND id = (SELECT MIN(n.id) FROM notifications n WHERE n.type = notifications.type
+                                                   AND n.related_task_id = notifications.related_task_id);
+
+CREATE UNIQUE INDEX uk_notifications_dedup_key ON notifications (dedup_key);
@@ -0,0 +1,2 @@
+-- Incremental notification sync on WebSocket subscribe: rows of one user after a last-seen ID
+CREATE INDEX IF NOT EXISTS idx_notifications_user_id ON notifications (user_id, id);
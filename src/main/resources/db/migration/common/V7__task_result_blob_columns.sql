@@ -0,0 +1,4 @@
+-- Large task results are stored in the blob store; the row keeps a preview, the blob key and the full length.
+-- IF NOT EXISTS because databases created by ddl-auto may already have these columns.
+ALTER TABLE task_results ADD COLUMN IF NOT EXISTS blob_key VARCHAR(64);
+ALTER TABLE task_results ADD COLUMN IF NOT EXISTS content_length BIGINT;
@@ -0,0 +1,18 @@
+-- Archive for read notifications. Unpartitioned here; PostgreSQL partitions it by month.
+CREATE TABLE notifications_archive (
+    id              INTEGER NOT NULL,
+    user_id         INTEGER,
+    message         VARCHAR(1000),
+    urgency         VARCHAR(255),
+    type            VARCHAR(255),
+    related_task_id INTEGER,
+    created_at      TIMESTAMP(6),
+    sent_at         TIMESTAMP(6),
+    delivered_at    TIMESTAMP(6),
+    read_at         TIMESTAMP(6),
+    status          VARCHAR(255),
+    archived_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notifications_archive_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notifications_archive_user_id ON notifications_archive (user_id, id);
@@ -0,0 +1,13 @@
+-- PostgreSQL-only partial indexes. They only cover the rows the scheduler looks at,
+-- so they stay small while completed tasks and read notifications pile up.
+
+-- findOverdueTasks: open tasks past their due date
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date) WHERE task_status <> 'DONE';
+
+-- findReadyToRun: queued executable tasks in due date order
+CREATE INDEX IF NOT EXISTS idx_tasks_queued_due_date ON tasks (due_date, id)
+    WHERE task_status = 'QUEUED' AND task_class_name IS NOT NULL;
+
+-- findUnreadByTypeAndRelatedTaskId: duplicate checks only consider unread notifications
+CREATE INDEX IF NOT EXISTS idx_notifications_unread_type_related_task ON notifications (type, related_task_id)
+    WHERE status NOT IN ('READ', 'ARCHIVED');
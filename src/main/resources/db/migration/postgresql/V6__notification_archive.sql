@@ -0,0 +1,21 @@
+-- Archive for read notifications, range partitioned by month of creation. Monthly partitions are
+-- created by the retention job before it moves rows into them; rows without a creation time end
+-- up in the default partition. Old months can be detached or dropped without touching the hot table.
+CREATE TABLE notifications_archive (
+    id              INTEGER NOT NULL,
+    user_id         INTEGER,
+    message         VARCHAR(1000),
+    urgency         VARCHAR(255),
+    type            VARCHAR(255),
+    related_task_id INTEGER,
+    created_at      TIMESTAMP(6),
+    sent_at         TIMESTAMP(6),
+    delivered_at    TIMESTAMP(6),
+    read_at         TIMESTAMP(6),
+    status          VARCHAR(255),
+    archived_at     TIMESTAMP(6) NOT NULL
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE notifications_archive_default PARTITION OF notifications_archive DEFAULT;
+
+CREATE INDEX idx_notifications_archive_user_id ON notifications_archive (user_id, id);
@@ -0,0 +1,85 @@
+package de.vfh.paf.tasklist.domain.report;
+
+import de.vfh.paf.tasklist.domain.model.NotificationStatus;
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportAggregatorTest {
+
+    @Test
+    void shouldAggregateTaskRows() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        ReportAggregator aggregator = new ReportAggregator();
+
+        // Act
+        aggregator.acceptTask(new TaskReportRow(TaskStatus.DONE, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask", 1,
+                now.minusMinutes(10), now.minusMinutes(5), now.minusMinutes(4)), now);
+        aggregator.acceptTask(new TaskReportRow(TaskStatus.QUEUED, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask", 1,
+                now.minusMinutes(10), now.minusMinutes(1), null), now);
+        aggregator.acceptTask(new TaskReportRow(TaskStatus.CREATED, null, 2,
+                now, now.plusDays(1), null), now);
+
+        // Assert
+        assertEquals(3, aggregator.getTaskCount());
+        assertEquals(1, aggregator.getOverdueCount());
+        assertEquals(1L, aggregator.getTasksByStatus().get(TaskStatus.DONE));
+        assertEquals(2L, aggregator.getTasksByType().get("CalculatePiTask"));
+        assertEquals(1L, aggregator.getTasksByType().get("Standard Task"));
+        assertEquals(2, aggregator.getDistinctUsers());
+
+        List<Map.Entry<Integer, Long>> topUsers = aggregator.topUsers(1);
+        assertEquals(1, topUsers.size());
+        assertEquals(1, topUsers.getFirst().getKey());
+
+        // Latency is measured from the due date, since it is after the creation time
+        assertEquals(1, aggregator.getCompletionLatency().getCount());
+        assertEquals(60_000, aggregator.getCompletionLatency().getMax());
+    }
+
+    @Test
+    void shouldAggregateNotificationAndResultRows() {
+        // Arrange
+        ReportAggregator aggregator = new ReportAggregator();
+
+        // Act
+        aggregator.acceptNotification(new NotificationReportRow("TASK_OVERDUE", NotificationStatus.READ));
+        aggregator.acceptNotification(new NotificationReportRow("TASK_OVERDUE", NotificationStatus.CREATED));
+        aggregator.acceptResult(new ResultReportRow(1, 100L));
+        aggregator.acceptResult(new ResultReportRow(2, null));
+
+        // Assert
+        assertEquals(2, aggregator.getNotificationCount());
+        assertEquals(2L, aggregator.getNotificationsByType().get("TASK_OVERDUE"));
+        assertEquals(1L, aggregator.getNotificationsByStatus().get("READ"));
+        assertEquals(2, aggregator.getResultCount());
+        assertEquals(100, aggregator.getResultSize());
+    }
+
+    @Test
+    void shouldApproximatePercentilesWithinBucketPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        // Assert
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+        long p50 = histogram.percentile(50);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.125, "p50 was " + p50);
+        long p99 = histogram.percentile(99);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 was " + p99);
+    }
+}
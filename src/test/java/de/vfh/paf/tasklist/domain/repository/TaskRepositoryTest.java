@@ -17,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @DataJpaTest
 @ActiveProfiles("test")
 class TaskRepositoryTest {
+    private static final String RUNNABLE_CLASS = "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask";
 
     @Autowired
     private TaskRepository taskRepository;
@@ -153,4 +154,72 @@ class TaskRepositoryTest {
         assertTrue(overdueTasks.stream().anyMatch(t -> t.getTitle().equals("Overdue Task 2")));
         assertFalse(overdueTasks.stream().anyMatch(t -> t.getTitle().equals("Task 1")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFindTasksByStatusLatestDueDateFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Task early = save("Early", now.plusDays(1), TaskStatus.DONE, 100);
+        Task late = save("Late", now.plusDays(5), TaskStatus.DONE, 200);
+        save("Queued", now.plusDays(3), TaskStatus.QUEUED, 100);
+
+        // Act
+        List<Task> tasks = taskRepository.findByTaskStatus(TaskStatus.DONE);
+
+        // Assert
+        assertEquals(List.of(late.getId(), early.getId()), tasks.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldFindTasksByUserAndStatusLatestDueDateFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Task early = save("Early", now.plusDays(1), TaskStatus.DONE, 100);
+        Task late = save("Late", now.plusDays(5), TaskStatus.DONE, 100);
+        save("Other user", now.plusDays(3), TaskStatus.DONE, 200);
+        save("Other status", now.plusDays(3), TaskStatus.QUEUED, 100);
+
+        // Act
+        List<Task> tasks = taskRepository.findByAssignedUserIdAndTaskStatus(100, TaskStatus.DONE);
+
+        // Assert
+        assertEquals(List.of(late.getId(), early.getId()), tasks.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void shouldFindReadyToRunTasksMostOverdueFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Task doneDependency = save("Done dependency", now.minusDays(5), TaskStatus.DONE, 100);
+        Task openDependency = save("Open dependency", now.plusDays(5), TaskStatus.CREATED, 100);
+
+        Task withoutDependencies = queued("Without dependencies", now.minusHours(1));
+        Task dependenciesDone = queued("Dependencies done", now.minusDays(2));
+        dependenciesDone.addDependency(doneDependency);
+        taskRepository.save(dependenciesDone);
+        Task dependencyOpen = queued("Dependency open", now.minusDays(3));
+        dependencyOpen.addDependency(doneDependency);
+        dependencyOpen.addDependency(openDependency);
+        taskRepository.save(dependencyOpen);
+        queued("Due in the future", now.plusHours(1));
+        Task notRunnable = new Task(null, "Not runnable", "Description", now.minusDays(4), TaskStatus.QUEUED, 100,
+                RUNNABLE_CLASS);
+        notRunnable.updateScheduling(null);
+        taskRepository.save(notRunnable);
+
+        // Act
+        List<Task> readyTasks = taskRepository.findReadyToRun(now);
+
+        // Assert
+        assertEquals(List.of(dependenciesDone.getId(), withoutDependencies.getId()),
+                readyTasks.stream().map(Task::getId).toList());
+    }
+
+    private Task queued(String title, LocalDateTime dueDate) {
+        return save(title, dueDate, TaskStatus.QUEUED, 100);
+    }
+
+    private Task save(String title, LocalDateTime dueDate, TaskStatus status, int userId) {
+        return taskRepository.save(new Task(null, title, "Description", dueDate, status, userId, RUNNABLE_CLASS));
+    }
+}
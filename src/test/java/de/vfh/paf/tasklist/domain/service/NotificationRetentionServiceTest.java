@@ -0,0 +1,97 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.model.Notification;
+import de.vfh.paf.tasklist.domain.model.NotificationStatus;
+import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(NotificationRetentionService.class)
+class NotificationRetentionServiceTest {
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldArchiveOnlyOldReadNotifications() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Notification oldRead = save(100, "Old read", now.minusDays(40), null);
+        save(100, "Recently read", now.minusDays(1), null);
+        Notification unread = notificationRepository.saveAndFlush(new Notification(null, 100, "Unread"));
+
+        // Act
+        int archived = retentionService.archiveReadBefore(now.minusDays(30));
+
+        // Assert
+        assertEquals(1, archived);
+        List<Integer> remaining = notificationRepository.findByUserId(100).stream().map(Notification::getId).toList();
+        assertEquals(2, remaining.size());
+        assertTrue(remaining.contains(unread.getId()));
+
+        List<Notification> archivedNotifications = retentionService.findArchived(100, 10);
+        assertEquals(1, archivedNotifications.size());
+        assertEquals(oldRead.getId(), archivedNotifications.getFirst().getId());
+        assertEquals("Old read", archivedNotifications.getFirst().getMessage());
+        assertEquals(NotificationStatus.READ, archivedNotifications.getFirst().getStatus());
+    }
+
+    @Test
+    void shouldKeepDedupKeysOfOpenTasks() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Task openTask = taskRepository.save(new Task(null, "Open", "Description", now.minusDays(50), 100,
+                "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask"));
+        Task doneTask = taskRepository.save(new Task(null, "Done", "Description", now.minusDays(50), TaskStatus.DONE,
+                100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask"));
+        save(100, "Open task overdue", now.minusDays(40), openTask.getId());
+        save(100, "Done task overdue", now.minusDays(40), doneTask.getId());
+
+        // Act
+        int archived = retentionService.archiveReadBefore(now.minusDays(30));
+
+        // Assert
+        assertEquals(1, archived);
+        assertEquals(1, notificationRepository.findByTypeAndRelatedTaskId("TASK_OVERDUE", openTask.getId()).size());
+        assertTrue(notificationRepository.findByTypeAndRelatedTaskId("TASK_OVERDUE", doneTask.getId()).isEmpty());
+    }
+
+    private Notification save(int userId, String message, LocalDateTime readAt, Integer taskId) {
+        Notification notification = new Notification(null, message, "NORMAL", taskId != null ? "TASK_OVERDUE" : "INFO",
+                userId, taskId);
+        if (taskId != null) {
+            notification.setDedupKey("task:TASK_OVERDUE:" + taskId);
+        }
+        notification.transitionTo(NotificationStatus.SENT);
+        notification.transitionTo(NotificationStatus.READ);
+        notification.setReadAt(readAt);
+        return notificationRepository.saveAndFlush(notification);
+    }
+}
@@ -1,30 +1,48 @@
 package de.vfh.paf.tasklist.domain.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationStatusChangeDTO;
+import de.vfh.paf.tasklist.application.dto.NotificationSyncDTO;
 import de.vfh.paf.tasklist.domain.model.Notification;
 import de.vfh.paf.tasklist.domain.model.NotificationStatus;
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
 import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import de.vfh.paf.tasklist.presentation.websocket.NotificationDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @DataJpaTest
 @ActiveProfiles("test")
-@Import({NotificationService.class, TaskService.class})
+@Import({NotificationService.class, TaskService.class, NotificationDispatcher.class, UnreadCounterService.class,
+        NotificationRetentionService.class})
 class NotificationServiceTest {
 
     @Autowired
@@ -42,6 +60,12 @@ class NotificationServiceTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private NotificationRetentionService retentionService;
+
     @MockBean
     private SimpMessagingTemplate messagingTemplate;
 
@@ -133,4 +157,178 @@ class NotificationServiceTest {
         assertEquals(userId, notification.getUserId());
         assertEquals(message, notification.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSuppressDuplicateNotificationsUntilRead() {
+        // Arrange
+        int userId = 100;
+        assertTrue(notificationService.sendNotification("REMINDER", "NORMAL", userId, "First", null));
+
+        // Act
+        boolean duplicate = notificationService.sendNotification("REMINDER", "NORMAL", userId, "Second", null);
+
+        // Assert
+        assertFalse(duplicate);
+        List<Notification> notifications = notificationRepository.findByUserId(userId);
+        assertEquals(1, notifications.size());
+        assertNotNull(notifications.get(0).getId());
+
+        // Once read, the same notification may be sent again
+        notificationService.markAsRead(userId, notifications.get(0).getId());
+        assertTrue(notificationService.sendNotification("REMINDER", "NORMAL", userId, "Third", null));
+        assertEquals(2, notificationRepository.findByUserId(userId).size());
+    }
+
+    @Test
+    void shouldSendTaskNotificationOnlyOnce() {
+        // Act
+        boolean first = notificationService.sendNotification("TASK_COMPLETED", "NORMAL", 100, "Done", 42);
+        boolean otherUser = notificationService.sendNotification("TASK_COMPLETED", "NORMAL", 200, "Done", 42);
+        boolean broadcast = notificationService.broadcastSystemNotification("TASK_COMPLETED", "Done", "NORMAL", 42);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(otherUser);
+        assertFalse(broadcast);
+        assertEquals(1, notificationRepository.findByTypeAndRelatedTaskId("TASK_COMPLETED", 42).size());
+    }
+
+    @Test
+    void shouldOnlyNotifyNewlyOverdueTasksInOneMessagePerUser() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        taskService.createRunnableTask("Overdue 1", "Description", now.minusDays(2), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        taskService.createRunnableTask("Overdue 2", "Description", now.minusDays(1), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        taskService.createRunnableTask("Overdue 3", "Description", now.minusHours(1), 200, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+
+        // Act
+        int firstSweep = notificationService.checkAndNotifyOverdueTasks();
+        int secondSweep = notificationService.checkAndNotifyOverdueTasks();
+
+        // Assert
+        assertEquals(3, firstSweep);
+        assertEquals(0, secondSweep);
+        assertEquals(3, notificationRepository.findAll().size());
+
+        // Nothing is delivered before the commit; then one frame per destination holding all notifications for it
+        notificationDispatcher.flush();
+        verify(messagingTemplate, never()).send(eq("/topic/notifications"), any(Message.class));
+        commit();
+        notificationDispatcher.flush();
+        verify(messagingTemplate, times(1)).send(eq("/user/100/queue/notifications"), argThat(message -> arraySize(message) == 2));
+        verify(messagingTemplate, times(1)).send(eq("/user/200/queue/notifications"), argThat(message -> arraySize(message) == 1));
+        verify(messagingTemplate, times(1)).send(eq("/topic/notifications"), argThat(message -> arraySize(message) == 3));
+        deleteCommitted();
+    }
+
+    @Test
+    void shouldSyncOnlyNotificationsAfterLastSeenId() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            notificationService.sendNotification("INFO", "NORMAL", 100, "Message " + i, i);
+        }
+        notificationService.sendNotification("INFO", "NORMAL", 200, "Other user", null);
+
+        // Act
+        NotificationSyncDTO initial = notificationService.syncSince(100, null, 3);
+        NotificationSyncDTO next = notificationService.syncSince(100, initial.notifications().getFirst().getId() - 1, 2);
+        NotificationSyncDTO upToDate = notificationService.syncSince(100, initial.lastSeenId(), 10);
+
+        // Assert
+        assertEquals(List.of("Message 3", "Message 4", "Message 5"),
+                initial.notifications().stream().map(NotificationDTO::getMessage).toList());
+        assertEquals(initial.notifications().getLast().getId(), initial.lastSeenId());
+        assertEquals(5, initial.unreadCount());
+        assertFalse(initial.hasMore());
+
+        assertEquals(2, next.notifications().size());
+        assertTrue(next.hasMore());
+
+        assertTrue(upToDate.notifications().isEmpty());
+        assertEquals(initial.lastSeenId(), upToDate.lastSeenId());
+        assertFalse(upToDate.hasMore());
+    }
+
+    @Test
+    void shouldMarkAndArchiveNotificationsInBulk() {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            notificationService.sendNotification("INFO", "NORMAL", 100, "Message " + i, i);
+        }
+        notificationService.sendNotification("INFO", "NORMAL", 200, "Other user", 1);
+        List<Integer> userIds = notificationRepository.findByUserId(100).stream().map(Notification::getId).toList();
+        Integer otherUsersId = notificationRepository.findByUserId(200).getFirst().getId();
+
+        // Act
+        int markedByIds = notificationService.markAsRead(100, List.of(userIds.getFirst(), otherUsersId));
+        int markedAll = notificationService.markAllAsRead(100);
+        int markedAgain = notificationService.markAllAsRead(100);
+        int archived = notificationService.archiveRead(100, LocalDateTime.now().plusMinutes(1));
+
+        // Assert
+        assertEquals(1, markedByIds);
+        assertEquals(2, markedAll);
+        assertEquals(0, markedAgain);
+        assertEquals(3, archived);
+        assertTrue(notificationRepository.findByUserId(100).stream()
+                .allMatch(notification -> notification.getStatus() == NotificationStatus.ARCHIVED));
+        assertEquals(NotificationStatus.SENT, notificationRepository.findById(otherUsersId).orElseThrow().getStatus());
+
+        // The released keys allow the same notifications again
+        assertTrue(notificationService.sendNotification("INFO", "NORMAL", 100, "Message 1 again", 1));
+
+        // Status changes are only pushed once the transaction commits
+        verify(messagingTemplate, never()).convertAndSend(eq("/user/100/queue/notifications.status"),
+                argThat((Object change) -> change instanceof NotificationStatusChangeDTO));
+        commit();
+        verify(messagingTemplate, times(3)).convertAndSend(eq("/user/100/queue/notifications.status"),
+                argThat((Object change) -> change instanceof NotificationStatusChangeDTO));
+        deleteCommitted();
+    }
+
+    @Test
+    void shouldListNotificationsArchivedByUser() {
+        // Arrange
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Read message", 1);
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Unread message", 2);
+        Integer readId = notificationRepository.findByUserId(100).getFirst().getId();
+        notificationService.markAsRead(100, List.of(readId));
+
+        // Act
+        int archived = notificationService.archiveRead(100, LocalDateTime.now().plusMinutes(1));
+        List<Notification> archivedNotifications = retentionService.findArchived(100, 10);
+
+        // Assert
+        assertEquals(1, archived);
+        assertEquals(1, archivedNotifications.size());
+        assertEquals(readId, archivedNotifications.getFirst().getId());
+        assertEquals(NotificationStatus.ARCHIVED, archivedNotifications.getFirst().getStatus());
+    }
+
+    /**
+     * Commits the test transaction, so deliveries registered for after the commit run.
+     */
+    private static void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    /**
+     * Removes the data committed by a test.
+     */
+    private void deleteCommitted() {
+        TestTransaction.start();
+        notificationRepository.deleteAll();
+        taskResultRepository.deleteAll();
+        taskRepository.deleteAll();
+        commit();
+    }
+
+    private static int arraySize(Message<?> message) {
+        try {
+            return new ObjectMapper().readTree((byte[]) message.getPayload()).size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecentKeyCacheTest {
+
+    @Test
+    void shouldRememberAndForgetKeys() {
+        RecentKeyCache cache = new RecentKeyCache(10, Duration.ofMinutes(1));
+
+        cache.add("a");
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+
+        cache.remove("a");
+        assertFalse(cache.contains("a"));
+    }
+
+    @Test
+    void shouldExpireKeys() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        RecentKeyCache cache = new RecentKeyCache(10, Duration.ofSeconds(30), clock);
+        cache.add("a");
+
+        clock.advance(Duration.ofSeconds(29));
+        assertTrue(cache.contains("a"));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedKeys() {
+        RecentKeyCache cache = new RecentKeyCache(2, Duration.ofMinutes(1));
+
+        cache.add("a");
+        cache.add("b");
+        cache.contains("a"); // a is now more recently used than b
+        cache.add("c");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
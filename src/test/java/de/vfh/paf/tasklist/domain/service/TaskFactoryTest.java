@@ -0,0 +1,91 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.model.RunnableTask;
+import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskResult;
+import de.vfh.paf.tasklist.domain.tasks.CalculatePiTask;
+import de.vfh.paf.tasklist.domain.tasks.GenerateReportTask;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskFactoryTest {
+
+    @Test
+    void shouldDiscoverTaskTypesWithServiceLoader() {
+        // Arrange
+        TaskFactory factory = new TaskFactory(taskBeans());
+
+        // Act
+        List<TaskFactory.TaskTypeMetadata> taskTypes = factory.getTaskTypeMetadata();
+
+        // Assert
+        assertEquals(List.of("Calculate Pi", "Generate Report"),
+                taskTypes.stream().map(TaskFactory.TaskTypeMetadata::name).toList());
+        TaskFactory.TaskTypeMetadata calculatePi = taskTypes.get(0);
+        assertEquals(CalculatePiTask.class.getName(), calculatePi.className());
+        assertEquals(CalculatePiTask.class, calculatePi.implementationClass());
+        assertTrue(calculatePi.parameters().containsKey("iterations"));
+        assertTrue(taskTypes.get(1).parameters().containsKey("type"));
+        assertInstanceOf(GenerateReportTask.class, factory.getTaskType(GenerateReportTask.class.getName()));
+        assertNull(factory.getTaskType("de.vfh.paf.tasklist.domain.tasks.UnknownTask"));
+    }
+
+    @Test
+    void shouldReturnSharedInstance() {
+        // Arrange
+        TaskFactory factory = new TaskFactory(taskBeans());
+
+        // Act
+        RunnableTask first = factory.getTaskType(CalculatePiTask.class.getName());
+        RunnableTask second = factory.getTaskType(CalculatePiTask.class.getName());
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldRegisterTaskTypeBeans() {
+        // Arrange
+        EchoTask echoTask = new EchoTask();
+
+        // Act
+        TaskFactory factory = new TaskFactory(taskBeans(echoTask));
+
+        // Assert
+        assertSame(echoTask, factory.getTaskType(EchoTask.class.getName()));
+        assertEquals("Echo", factory.getTaskTypeMap().get(EchoTask.class.getName()));
+        assertEquals(3, factory.getTaskTypeMetadata().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<RunnableTask> taskBeans(RunnableTask... beans) {
+        ObjectProvider<RunnableTask> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(beans));
+        return provider;
+    }
+
+    private static class EchoTask implements RunnableTask {
+        @Override
+        public TaskResult run(Task task) {
+            return new TaskResult(task.getTitle(), task.getDescription(), LocalDateTime.now());
+        }
+
+        @Override
+        public String getName() {
+            return "Echo";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Returns the task description";
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskResult;
+import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the second-level and query cache never serve stale tasks.
+ * Runs without a test transaction, so every service call commits and later calls can hit the cache.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TaskService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskServiceCacheTest {
+
+    private static final String TASK_CLASS = "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskResultRepository taskResultRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        Task task = createTask("Cached Task", 100);
+        taskService.findById(task.getId());
+
+        // Act
+        statistics.clear();
+        Task found = taskService.findById(task.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("Cached Task", found.getTitle());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSeeChangesAfterUpdateTask() {
+        // Arrange
+        Task task = createTask("Original Task", 100);
+        taskService.findById(task.getId());
+        taskService.findByUserId(100);
+
+        // Act
+        taskService.updateTask(task.getId(), "Updated Task", "Updated description", task.getDueDate());
+
+        // Assert
+        assertEquals("Updated Task", taskService.findById(task.getId()).orElseThrow().getTitle());
+        assertEquals(List.of("Updated Task"), taskService.findByUserId(100).stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void shouldSeeDependenciesAfterAddDependency() {
+        // Arrange
+        Task task = createTask("Task", 100);
+        Task dependency = createTask("Dependency", 100);
+        assertTrue(taskService.findById(task.getId()).orElseThrow().getDependencies().isEmpty());
+
+        // Act
+        taskService.addDependency(task.getId(), dependency.getId());
+
+        // Assert
+        List<Integer> dependencyIds = taskService.findById(task.getId()).orElseThrow().getDependencies().stream()
+                .map(Task::getId)
+                .toList();
+        assertEquals(List.of(dependency.getId()), dependencyIds);
+    }
+
+    @Test
+    void shouldSeeStatusAndResultAfterCompletion() {
+        // Arrange
+        Task task = createTask("Running Task", 100);
+        task.transitionTo(TaskStatus.QUEUED);
+        task.transitionTo(TaskStatus.RUNNING);
+        taskRepository.save(task);
+        taskService.findById(task.getId());
+        taskService.findByStatus(TaskStatus.DONE);
+        taskResultRepository.findFirstByTaskIdOrderByIdDesc(task.getId());
+
+        // Act
+        taskService.completeTask(task.getId());
+        taskResultRepository.save(new TaskResult(null, "Result", "Content", task.getId()));
+
+        // Assert
+        Task found = taskService.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.DONE, found.getStatus());
+        assertNotNull(found.getResult());
+        assertEquals("Result", found.getResult().getTitle());
+        assertEquals(List.of(task.getId()),
+                taskService.findByStatus(TaskStatus.DONE).stream().map(Task::getId).toList());
+    }
+
+    private Task createTask(String title, int userId) {
+        return taskService.createRunnableTask(title, "Description", LocalDateTime.now().plusDays(1), userId, TASK_CLASS);
+    }
+
+    private void deleteAll() {
+        taskResultRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+}
@@ -1,17 +1,24 @@
 package de.vfh.paf.tasklist.domain.service;
 
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
 import de.vfh.paf.tasklist.domain.model.TaskStatus;
 import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.model.TaskResult;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
 import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +37,12 @@ class TaskServiceTest {
     @Autowired
     private TaskResultRepository taskResultRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         // Clear the repositories before each test
@@ -229,4 +242,133 @@ class TaskServiceTest {
         // Assert
         assertTrue(hasDeadlock);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldLoadResultsForTaskListWithConstantQueryCount() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        createCompletedTasksWithResults(3);
+
+        // Act
+        statistics.clear();
+        List<Task> fewTasks = taskService.findAll();
+        long queriesForFewTasks = statistics.getPrepareStatementCount();
+
+        createCompletedTasksWithResults(30);
+        statistics.clear();
+        List<Task> manyTasks = taskService.findAll();
+        long queriesForManyTasks = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertEquals(3, fewTasks.size());
+        assertEquals(33, manyTasks.size());
+        assertTrue(manyTasks.stream().allMatch(task -> task.getResult() != null));
+        assertEquals(queriesForFewTasks, queriesForManyTasks,
+                "Loading results must not issue one query per task");
+    }
+
+    @Test
+    void shouldPaginateTasksByDueDateWithCursor() {
+        // Arrange
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            // Two tasks share each due date to exercise the ID tie breaker
+            taskService.createRunnableTask("Task " + i, "Description", dueDate.plusHours(i / 2), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        }
+        taskService.createRunnableTask("Other user", "Description", dueDate, 200, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+
+        // Act
+        KeysetPage<Task> first = taskService.findPage(100, null, null, 2);
+        KeysetPage<Task> second = taskService.findPage(100, null, first.nextCursor(), 2);
+        KeysetPage<Task> third = taskService.findPage(100, null, second.nextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of("Task 0", "Task 1"), first.items().stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 2", "Task 3"), second.items().stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Task 4"), third.items().stream().map(Task::getTitle).toList());
+        assertNotNull(first.nextCursor());
+        assertNotNull(second.nextCursor());
+        assertNull(third.nextCursor());
+    }
+
+    @Test
+    void shouldPaginateAmongTaskIdsInBatches() {
+        // Arrange
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(1).withNano(0);
+        Task latest = taskService.createRunnableTask("Latest", "Description", dueDate.plusHours(3), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        Task earliest = taskService.createRunnableTask("Earliest", "Description", dueDate.plusHours(1), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        Task middle = taskService.createRunnableTask("Middle", "Description", dueDate.plusHours(2), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        taskService.createRunnableTask("Not a candidate", "Description", dueDate, 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+        // More candidates than fit into one IN list, with the tasks spread over several batches
+        List<Integer> candidates = new java.util.ArrayList<>();
+        candidates.add(latest.getId());
+        for (int i = 0; i < 1200; i++) {
+            candidates.add(1_000_000 + i);
+        }
+        candidates.add(earliest.getId());
+        candidates.add(middle.getId());
+
+        // Act
+        KeysetPage<Task> first = taskService.findPageAmong(candidates, null, null, 2);
+        KeysetPage<Task> second = taskService.findPageAmong(candidates, null, first.nextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of("Earliest", "Middle"), first.items().stream().map(Task::getTitle).toList());
+        assertEquals(List.of("Latest"), second.items().stream().map(Task::getTitle).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldExportAllTasksInChunks() {
+        // Arrange
+        createCompletedTasksWithResults(5);
+        List<Integer> chunkSizes = new java.util.ArrayList<>();
+        List<String> resultTitles = new java.util.ArrayList<>();
+
+        // Act
+        taskService.exportInChunks(2, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(task -> resultTitles.add(task.getResult().getTitle()));
+        });
+
+        // Assert
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        assertEquals(List.of("Result 0", "Result 1", "Result 2", "Result 3", "Result 4"), resultTitles);
+    }
+
+    @Test
+    void shouldExportWithoutFillingTheSecondLevelCache() {
+        // Arrange
+        createCompletedTasksWithResults(3);
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // Act
+        taskService.exportInChunks(2, chunk -> chunk.forEach(task -> {
+            task.getDependencies().size();
+            task.getResult().getTitle();
+        }));
+        long putsDuringExport = statistics.getSecondLevelCachePutCount();
+        entityManager.clear();
+        taskService.findAll();
+
+        // Assert
+        assertEquals(0, putsDuringExport);
+        assertTrue(statistics.getSecondLevelCachePutCount() > 0, "Regular reads should still fill the cache");
+    }
+
+    private void createCompletedTasksWithResults(int count) {
+        for (int i = 0; i < count; i++) {
+            Task task = taskService.createRunnableTask("Task " + i, "Description", LocalDateTime.now().plusDays(1), 100, "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+            task.transitionTo(TaskStatus.QUEUED);
+            task.transitionTo(TaskStatus.RUNNING);
+            taskService.completeTask(task.getId());
+            taskResultRepository.save(new TaskResult(null, "Result " + i, "Content " + i, task.getId()));
+        }
+        // Write pending changes now so that they are not counted as part of the measured queries
+        taskRepository.flush();
+    }
+}
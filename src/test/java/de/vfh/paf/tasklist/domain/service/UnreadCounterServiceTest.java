@@ -0,0 +1,125 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadCounterServiceTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpMessagingTemplate messagingTemplate;
+    private UnreadCounterService unreadCounterService;
+    private AtomicLong nanos;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        nanos = new AtomicLong();
+        unreadCounterService = new UnreadCounterService(notificationRepository, messagingTemplate, 10,
+                Duration.ofMinutes(30), nanos::get);
+    }
+
+    @Test
+    void shouldSeedCounterOnceAndAdjustInMemory() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(100)).thenReturn(3L);
+
+        // Act
+        long seeded = unreadCounterService.getUnreadCount(100);
+        unreadCounterService.adjust(100, 1);
+        unreadCounterService.adjust(100, -2);
+
+        // Assert
+        assertEquals(3, seeded);
+        assertEquals(2, unreadCounterService.getUnreadCount(100));
+        verify(notificationRepository, times(1)).countUnreadByUserId(anyInt());
+        verify(messagingTemplate).convertAndSend("/user/100/queue/notifications.unread",
+                Map.of("userId", 100, "unreadCount", 4L));
+        verify(messagingTemplate).convertAndSend("/user/100/queue/notifications.unread",
+                Map.of("userId", 100, "unreadCount", 2L));
+    }
+
+    @Test
+    void shouldIgnoreAdjustmentsForUsersWithoutCounter() {
+        // Act
+        unreadCounterService.adjust(200, 1);
+
+        // Assert
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(100)).thenReturn(3L);
+        when(notificationRepository.countUnreadByUserId(200)).thenReturn(1L);
+        unreadCounterService.getUnreadCount(100);
+        unreadCounterService.getUnreadCount(200);
+        when(notificationRepository.countUnreadGroupedByUserId(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{100, 5L}));
+
+        // Act
+        unreadCounterService.reconcile();
+
+        // Assert
+        assertEquals(5, unreadCounterService.getUnreadCount(100));
+        assertEquals(0, unreadCounterService.getUnreadCount(200));
+        verify(messagingTemplate).convertAndSend("/user/100/queue/notifications.unread",
+                Map.of("userId", 100, "unreadCount", 5L));
+        verify(messagingTemplate).convertAndSend("/user/200/queue/notifications.unread",
+                Map.of("userId", 200, "unreadCount", 0L));
+    }
+
+    @Test
+    void shouldSeedCounterAgainAfterItExpired() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(100)).thenReturn(3L, 7L);
+        unreadCounterService.getUnreadCount(100);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(31));
+
+        // Act
+        unreadCounterService.adjust(100, 1);
+        long reseeded = unreadCounterService.getUnreadCount(100);
+
+        // Assert
+        assertEquals(7, reseeded);
+        verify(notificationRepository, times(2)).countUnreadByUserId(100);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void shouldNotKeepIdleCountersAliveOnReconcile() {
+        // Arrange
+        when(notificationRepository.countUnreadByUserId(100)).thenReturn(3L);
+        when(notificationRepository.countUnreadGroupedByUserId(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{100, 3L}));
+        unreadCounterService.getUnreadCount(100);
+
+        // Act
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(20));
+        unreadCounterService.reconcile();
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        unreadCounterService.getUnreadCount(100);
+
+        // Assert
+        verify(notificationRepository, times(2)).countUnreadByUserId(100);
+    }
+}
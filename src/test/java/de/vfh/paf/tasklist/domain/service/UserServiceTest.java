@@ -0,0 +1,48 @@
+package de.vfh.paf.tasklist.domain.service;
+
+import de.vfh.paf.tasklist.application.dto.KeysetCursor;
+import de.vfh.paf.tasklist.application.dto.KeysetPage;
+import de.vfh.paf.tasklist.domain.model.User;
+import de.vfh.paf.tasklist.infrastructure.persistence.UserRepositoryJpaAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    @Test
+    void shouldPageUsersWithIdCursors() {
+        // Arrange
+        UserRepositoryJpaAdapter userRepository = mock(UserRepositoryJpaAdapter.class);
+        when(userRepository.findPage(null, 3)).thenReturn(List.of(user(1), user(2), user(3)));
+        when(userRepository.findPage(2, 3)).thenReturn(List.of(user(3)));
+        UserService userService = new UserService(userRepository);
+
+        // Act
+        KeysetPage<User> first = userService.findPage(null, 2);
+        KeysetPage<User> second = userService.findPage(KeysetCursor.decode(first.nextToken()), 2);
+
+        // Assert
+        assertEquals(List.of(1, 2), first.items().stream().map(User::getId).toList());
+        assertEquals(new KeysetCursor(null, 2), first.nextCursor());
+        assertEquals(List.of(3), second.items().stream().map(User::getId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldRejectUserCursorsForListsWithSortKey() {
+        // Arrange
+        KeysetCursor cursor = KeysetCursor.decode(new KeysetCursor(null, 2).encode());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, cursor::requireSortKey);
+    }
+
+    private static User user(int id) {
+        return new User(id, "User " + id, "user" + id + "@example.com");
+    }
+}
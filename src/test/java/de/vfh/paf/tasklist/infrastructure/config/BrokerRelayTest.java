@@ -0,0 +1,255 @@
+package de.vfh.paf.tasklist.infrastructure.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketMessagingAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.tcp.reactor.ReactorNettyTcpStompClient;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the WebSocket configuration in broker relay mode against an embedded ActiveMQ Artemis broker.
+ * The application context plays one node; a plain STOMP client connected directly to the broker
+ * plays another node, so messages have to pass through the external broker in both directions.
+ */
+@SpringBootTest(classes = BrokerRelayTest.RelayNode.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "tasklist.websocket.broker.mode=relay")
+@ActiveProfiles("test")
+@DirtiesContext
+class BrokerRelayTest {
+
+    private static EmbeddedActiveMQ broker;
+    private static int brokerPort;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AbstractBrokerMessageHandler brokerMessageHandler;
+
+    @DynamicPropertySource
+    static void brokerProperties(DynamicPropertyRegistry registry) throws Exception {
+        startBroker();
+        registry.add("tasklist.websocket.broker.relay-host", () -> "127.0.0.1");
+        registry.add("tasklist.websocket.broker.relay-port", () -> brokerPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void shouldDeliverMessagesPublishedOnAnotherNode() throws Exception {
+        awaitBrokerAvailable();
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        // A browser client connected to this node
+        WebSocketStompClient webClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        StompSession clientSession = webClient.connectAsync("http://localhost:" + serverPort + "/api/ws",
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        clientSession.subscribe("/topic/notifications", collectInto(received));
+
+        // Another node publishing straight to the broker
+        ReactorNettyTcpStompClient otherNode = new ReactorNettyTcpStompClient("127.0.0.1", brokerPort);
+        StompSession otherSession = connect(otherNode);
+        try {
+            String payload = awaitDelivery(received, () -> otherSession.send(jsonHeaders("/topic/notifications"),
+                    "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8)));
+            assertEquals("[{\"id\":1}]", payload);
+        } finally {
+            otherSession.disconnect();
+            clientSession.disconnect();
+            otherNode.shutdown();
+            webClient.stop();
+        }
+    }
+
+    @Test
+    void shouldDeliverTaskEventsOfAnotherNodeOnlyToInterestedSessions() throws Exception {
+        awaitBrokerAvailable();
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        // A browser client connected to this node, following a single task
+        WebSocketStompClient webClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        StompSession clientSession = webClient.connectAsync("http://localhost:" + serverPort + "/api/ws",
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        clientSession.subscribe("/topic/tasks/42/status", collectInto(received));
+
+        // Another node publishing status updates of this and another task straight to the broker
+        ReactorNettyTcpStompClient otherNode = new ReactorNettyTcpStompClient("127.0.0.1", brokerPort);
+        StompSession otherSession = connect(otherNode);
+        try {
+            String payload = awaitDelivery(received, () -> {
+                otherSession.send(jsonHeaders("/topic/tasks/43/status"),
+                        "{\"id\":43}".getBytes(StandardCharsets.UTF_8));
+                otherSession.send(jsonHeaders("/topic/tasks/42/status"),
+                        "{\"id\":42}".getBytes(StandardCharsets.UTF_8));
+            });
+            assertEquals("{\"id\":42}", payload);
+            String next;
+            while ((next = received.poll(200, TimeUnit.MILLISECONDS)) != null) {
+                assertEquals("{\"id\":42}", next);
+            }
+        } finally {
+            otherSession.disconnect();
+            clientSession.disconnect();
+            otherNode.shutdown();
+            webClient.stop();
+        }
+    }
+
+    @Test
+    void shouldRelayMessagesPublishedOnThisNode() throws Exception {
+        awaitBrokerAvailable();
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+        // A client of another node, subscribed at the broker
+        ReactorNettyTcpStompClient otherNode = new ReactorNettyTcpStompClient("127.0.0.1", brokerPort);
+        StompSession otherSession = connect(otherNode);
+        otherSession.subscribe("/topic/system", collectInto(received));
+        try {
+            String payload = awaitDelivery(received, () -> messagingTemplate.convertAndSend("/topic/system", "hello"));
+            assertTrue(payload.contains("hello"));
+        } finally {
+            otherSession.disconnect();
+            otherNode.shutdown();
+        }
+    }
+
+    private static StompSession connect(ReactorNettyTcpStompClient client) throws Exception {
+        StompHeaders headers = new StompHeaders();
+        headers.setLogin("guest");
+        headers.setPasscode("guest");
+        return client.connectAsync(headers, new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Publishes repeatedly until a message arrives, since subscriptions reach the broker asynchronously.
+     */
+    private static String awaitDelivery(BlockingQueue<String> received, Runnable publish) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            publish.run();
+            String payload = received.poll(200, TimeUnit.MILLISECONDS);
+            if (payload != null) {
+                return payload;
+            }
+        }
+        throw new AssertionError("No message received through the broker");
+    }
+
+    private void awaitBrokerAvailable() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!brokerMessageHandler.isBrokerAvailable()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Broker relay did not connect");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static StompHeaders jsonHeaders(String destination) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return headers;
+    }
+
+    private static StompFrameHandler collectInto(BlockingQueue<String> received) {
+        Consumer<Object> collector = payload -> received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                collector.accept(payload);
+            }
+        };
+    }
+
+    private static synchronized void startBroker() throws Exception {
+        if (broker != null) {
+            return;
+        }
+        try (ServerSocket socket = new ServerSocket(0)) {
+            brokerPort = socket.getLocalPort();
+        }
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + brokerPort
+                + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+    }
+
+    /**
+     * Minimal web application with only the WebSocket configuration under test.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            WebSocketServletAutoConfiguration.class,
+            WebSocketMessagingAutoConfiguration.class
+    })
+    @Import(WebSocketConfig.class)
+    static class RelayNode {
+    }
+}
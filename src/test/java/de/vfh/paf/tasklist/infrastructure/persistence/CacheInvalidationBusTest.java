@@ -0,0 +1,64 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CacheInvalidationBusTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private CacheInvalidationBus bus;
+    private List<String> invalidatedKeys;
+    private AtomicInteger clears;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        bus = new CacheInvalidationBus(jdbcTemplate, "jdbc:h2:mem:testdb", "sa", "", true, 5);
+        invalidatedKeys = new ArrayList<>();
+        clears = new AtomicInteger();
+        bus.register("users", invalidatedKeys::add, clears::incrementAndGet);
+    }
+
+    @Test
+    void shouldInvalidateKeysAnnouncedByOtherNodes() {
+        // Act
+        bus.dispatch("other-node|users|42");
+        bus.dispatch("other-node|users|" + CacheInvalidationBus.ALL_KEYS);
+
+        // Assert
+        assertEquals(List.of("42"), invalidatedKeys);
+        assertEquals(1, clears.get());
+    }
+
+    @Test
+    void shouldIgnoreOwnAndUnknownNotifications() {
+        // Act
+        bus.dispatch(bus.getNodeId() + "|users|42");
+        bus.dispatch("other-node|queues|1");
+        bus.dispatch("malformed");
+
+        // Assert
+        assertTrue(invalidatedKeys.isEmpty());
+        assertEquals(0, clears.get());
+    }
+
+    @Test
+    void shouldNotNotifyWithoutPostgreSQL() {
+        // Act
+        bus.publish("users", 42);
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+        assertTrue(bus.isLive());
+    }
+}
@@ -0,0 +1,64 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the Flyway migrations alone create every table and column the entities map.
+ * Hibernate must not touch the schema here; the test profile otherwise uses {@code ddl-auto: update},
+ * which would add missing columns and hide a migration that was forgotten.
+ */
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=none", "spring.jpa.generate-ddl=false"})
+@ActiveProfiles("test")
+class MigratedSchemaMappingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldCreateAllMappedColumns() {
+        // Arrange
+        Set<String> migratedColumns = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT UPPER(TABLE_NAME) || '.' || UPPER(COLUMN_NAME) FROM INFORMATION_SCHEMA.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = SCHEMA()", String.class));
+
+        // Act
+        Set<String> missingColumns = new TreeSet<>();
+        MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getRuntimeMetamodels().getMappingMetamodel();
+        metamodel.forEachEntityDescriptor(persister -> {
+            persister.getIdentifierMapping().forEachSelectable((index, selectable) ->
+                    check(migratedColumns, missingColumns, selectable.getContainingTableExpression(),
+                            selectable.getSelectionExpression()));
+            persister.forEachSelectable((index, selectable) ->
+                    check(migratedColumns, missingColumns, selectable.getContainingTableExpression(),
+                            selectable.getSelectionExpression()));
+        });
+
+        // Assert
+        assertTrue(missingColumns.isEmpty(), () -> "Columns mapped but not created by a migration: " + missingColumns);
+    }
+
+    private static void check(Set<String> migratedColumns, Set<String> missingColumns, String table, String column) {
+        String qualified = (table + "." + column).replace("\"", "").toUpperCase(Locale.ROOT);
+        if (!migratedColumns.contains(qualified)) {
+            missingColumns.add(qualified);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the Flyway migrations create the schema and that the hot queries are served by
+ * the composite indexes, using the query plans of the embedded H2 database.
+ * The PostgreSQL-only partial indexes are not covered here.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldApplyMigrations() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"success\" = TRUE", String.class);
+
+        assertTrue(versions.contains("1"));
+        assertTrue(versions.contains("2"));
+        assertTrue(versions.contains("5"));
+        assertTrue(versions.contains("7"));
+    }
+
+    @Test
+    void shouldUseStatusIndexForReadyTasks() {
+        String plan = explain("SELECT id FROM tasks WHERE task_status = 'QUEUED' " +
+                "AND due_date <= CURRENT_TIMESTAMP ORDER BY due_date");
+
+        assertUsesIndex(plan, "IDX_TASKS_STATUS_DUE_DATE");
+    }
+
+    @Test
+    void shouldUseUserStatusIndexForUserTasks() {
+        String plan = explain("SELECT id FROM tasks WHERE assigned_user_id = 1 AND task_status = 'CREATED' " +
+                "ORDER BY due_date DESC");
+
+        assertUsesIndex(plan, "IDX_TASKS_USER_STATUS_DUE_DATE");
+    }
+
+    @Test
+    void shouldUseKeysetIndexForTaskPages() {
+        String plan = explain("SELECT id FROM tasks WHERE assigned_user_id = 1 " +
+                "AND (due_date > CURRENT_TIMESTAMP OR (due_date = CURRENT_TIMESTAMP AND id > 10)) " +
+                "ORDER BY due_date, id LIMIT 50");
+
+        assertUsesIndex(plan, "IDX_TASKS_USER_");
+    }
+
+    @Test
+    void shouldUseDependencyIndexForReverseLookups() {
+        String plan = explain("SELECT task_id FROM task_dependencies WHERE dependency_id = 1");
+
+        assertUsesIndex(plan, "IDX_TASK_DEPENDENCIES_DEPENDENCY");
+    }
+
+    @Test
+    void shouldUseTaskIndexForLatestResults() {
+        String plan = explain("SELECT MAX(id) FROM task_results WHERE task_id IN (1, 2, 3) GROUP BY task_id");
+
+        assertUsesIndex(plan, "IDX_TASK_RESULTS_TASK");
+    }
+
+    @Test
+    void shouldUseTypeIndexForRelatedTaskNotifications() {
+        String plan = explain("SELECT id FROM notifications WHERE type = 'TASK_OVERDUE' AND related_task_id = 1 " +
+                "ORDER BY created_at DESC");
+
+        assertUsesIndex(plan, "IDX_NOTIFICATIONS_TYPE_RELATED_TASK");
+    }
+
+    @Test
+    void shouldUseUserIndexForUnreadNotifications() {
+        String plan = explain("SELECT id FROM notifications WHERE user_id = 1 " +
+                "AND status NOT IN ('READ', 'ARCHIVED') ORDER BY created_at DESC");
+
+        assertUsesIndex(plan, "IDX_NOTIFICATIONS_USER_");
+    }
+
+    @Test
+    void shouldUseUserIdIndexForNotificationSync() {
+        String plan = explain("SELECT id FROM notifications WHERE user_id = 1 AND id > 10 ORDER BY id LIMIT 100");
+
+        assertUsesIndex(plan, "IDX_NOTIFICATIONS_USER_ID");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toUpperCase();
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertTrue(plan.contains(indexName), () -> "Expected index " + indexName + " in plan:\n" + plan);
+        assertFalse(plan.contains("TABLESCAN"), () -> "Unexpected table scan in plan:\n" + plan);
+    }
+}
@@ -2,7 +2,9 @@ package de.vfh.paf.tasklist.infrastructure.persistence;
 
 import de.vfh.paf.tasklist.domain.model.Task;
 import de.vfh.paf.tasklist.domain.model.TaskStatus;
+import de.vfh.paf.tasklist.domain.report.TaskReportRow;
 import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskSortKey;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,7 +16,9 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of TaskRepository for testing purposes.
@@ -45,6 +49,14 @@ public class TaskRepositoryInMemory implements TaskRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Task> findOverdueTasksWithoutNotification(LocalDateTime currentTime, String notificationType) {
+        // Notifications are not tracked in memory
+        return findOverdueTasks(currentTime).stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public <S extends Task> S save(S task) {
         if (task.getId() == null) {
@@ -54,6 +66,95 @@ public class TaskRepositoryInMemory implements TaskRepository {
         return task;
     }
 
+    @Override
+    public List<Task> findByTaskStatus(TaskStatus status) {
+        return tasks.values().stream()
+                .filter(task -> task.getStatus() == status)
+                .sorted(Comparator.comparing(Task::getDueDate).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findByAssignedUserIdAndTaskStatus(Integer userId, TaskStatus status) {
+        return tasks.values().stream()
+                .filter(task -> Objects.equals(task.getAssignedUserId(), userId) && task.getStatus() == status)
+                .sorted(Comparator.comparing(Task::getDueDate).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findReadyToRun(LocalDateTime currentTime) {
+        return tasks.values().stream()
+                .filter(task -> task.getStatus() == TaskStatus.QUEUED && task.getTaskClassName() != null
+                        && !task.getDueDate().isAfter(currentTime)
+                        && task.getDependencies().stream().allMatch(dep -> dep.getStatus() == TaskStatus.DONE))
+                .sorted(Comparator.comparing(Task::getDueDate))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findAllWithDependenciesByIdIn(Collection<Integer> ids) {
+        return ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Integer> findPageIds(LocalDateTime dueDate, Integer id, Pageable pageable) {
+        return pageIds(task -> true, dueDate, id, pageable);
+    }
+
+    @Override
+    public List<Integer> findPageIdsByTaskStatus(TaskStatus status, LocalDateTime dueDate, Integer id, Pageable pageable) {
+        return pageIds(task -> task.getStatus() == status, dueDate, id, pageable);
+    }
+
+    @Override
+    public List<Integer> findPageIdsByAssignedUserId(Integer userId, LocalDateTime dueDate, Integer id, Pageable pageable) {
+        return pageIds(task -> Objects.equals(task.getAssignedUserId(), userId), dueDate, id, pageable);
+    }
+
+    @Override
+    public List<Integer> findPageIdsByAssignedUserIdAndTaskStatus(Integer userId, TaskStatus status, LocalDateTime dueDate,
+                                                                  Integer id, Pageable pageable) {
+        return pageIds(task -> Objects.equals(task.getAssignedUserId(), userId) && task.getStatus() == status,
+                dueDate, id, pageable);
+    }
+
+    @Override
+    public List<TaskSortKey> findPageKeysByIdIn(Collection<Integer> ids, Collection<TaskStatus> statuses,
+                                                LocalDateTime dueDate, Integer id, Pageable pageable) {
+        return pageIds(task -> ids.contains(task.getId()) && statuses.contains(task.getStatus()), dueDate, id, pageable)
+                .stream()
+                .map(taskId -> new TaskSortKey(taskId, tasks.get(taskId).getDueDate()))
+                .collect(Collectors.toList());
+    }
+
+    private List<Integer> pageIds(Predicate<Task> filter, LocalDateTime dueDate, Integer id, Pageable pageable) {
+        return tasks.values().stream()
+                .filter(filter)
+                .filter(task -> task.getDueDate().isAfter(dueDate)
+                        || (task.getDueDate().isEqual(dueDate) && task.getId() > id))
+                .sorted(Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))
+                .limit(pageable.getPageSize())
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        return tasks.values().stream()
+                .sorted(Comparator.comparing(Task::getId));
+    }
+
+    @Override
+    public Stream<TaskReportRow> streamReportRows() {
+        return tasks.values().stream()
+                .map(task -> new TaskReportRow(task.getStatus(), task.getTaskClassName(), task.getAssignedUserId(),
+                        task.getCreatedAt(), task.getDueDate(), task.getCompletedAt()));
+    }
+
     @Override
     public <S extends Task> List<S> saveAll(Iterable<S> entities) {
         List<S> result = new ArrayList<>();
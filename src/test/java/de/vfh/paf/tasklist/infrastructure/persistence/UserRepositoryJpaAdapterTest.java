@@ -0,0 +1,129 @@
+package de.vfh.paf.tasklist.infrastructure.persistence;
+
+import de.vfh.paf.tasklist.domain.model.User;
+import de.vfh.paf.tasklist.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRepositoryJpaAdapterTest {
+
+    private UserRepository userRepository;
+    private CacheInvalidationBus invalidationBus;
+    private AtomicLong nanos;
+    private UserRepositoryJpaAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        when(invalidationBus.isLive()).thenReturn(true);
+        nanos = new AtomicLong();
+        adapter = new UserRepositoryJpaAdapter(userRepository, invalidationBus, 2, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), nanos::get);
+        for (int id = 1; id <= 3; id++) {
+            when(userRepository.findById(id)).thenReturn(Optional.of(new User(id, "User " + id, "user" + id + "@example.com")));
+        }
+    }
+
+    @Test
+    void shouldNotLoadUsersUpFront() {
+        verify(userRepository, never()).findAll();
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // Act
+        adapter.findById(1);
+        adapter.findById(1);
+        adapter.findById(1);
+
+        // Assert
+        verify(userRepository, times(1)).findById(1);
+        UserRepositoryJpaAdapter.Stats stats = adapter.getCacheStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void shouldInvalidateSavedUsers() {
+        // Arrange
+        User user = adapter.findById(1).orElseThrow();
+        when(userRepository.save(user)).thenReturn(user);
+
+        // Act
+        adapter.save(user);
+        adapter.findById(1);
+
+        // Assert
+        verify(userRepository, times(2)).findById(1);
+        verify(invalidationBus).publish(UserRepositoryJpaAdapter.CACHE_NAME, 1);
+    }
+
+    @Test
+    void shouldUseFallbackTimeToLiveWhileInvalidationsAreNotReceived() {
+        // Arrange
+        when(invalidationBus.isLive()).thenReturn(false);
+        adapter.findById(1);
+
+        // Act
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        adapter.findById(1);
+
+        // Assert
+        verify(userRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldExpireUsersAfterTimeToLive() {
+        // Arrange
+        adapter.findById(1);
+
+        // Act
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        adapter.findById(1);
+
+        // Assert
+        verify(userRepository, times(2)).findById(1);
+        assertEquals(1, adapter.getCacheStats().evictions());
+    }
+
+    @Test
+    void shouldStayWithinMaximumSize() {
+        // Act
+        for (int round = 0; round < 3; round++) {
+            for (int id = 1; id <= 3; id++) {
+                adapter.findById(id);
+            }
+        }
+
+        // Assert
+        UserRepositoryJpaAdapter.Stats stats = adapter.getCacheStats();
+        assertTrue(stats.size() <= 2);
+        assertTrue(stats.evictions() > 0);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        // Act
+        adapter.findById(99);
+        adapter.findById(99);
+
+        // Assert
+        verify(userRepository, times(2)).findById(99);
+    }
+}
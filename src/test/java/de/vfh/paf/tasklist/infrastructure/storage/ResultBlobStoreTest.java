@@ -0,0 +1,119 @@
+package de.vfh.paf.tasklist.infrastructure.storage;
+
+import de.vfh.paf.tasklist.domain.model.TaskResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultBlobStoreTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    @AfterEach
+    void tearDown() {
+        TaskResultSpillListener.configure(null, 2048, 512);
+    }
+
+    @Test
+    void shouldStoreContentAddressedAndRoundTrip() throws Exception {
+        // Arrange
+        ResultBlobStore store = new ResultBlobStore(storeDirectory.toString());
+        byte[] content = "line of report output\n".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        String key = store.put(new ByteArrayInputStream(content));
+        String secondKey = store.put(new ByteArrayInputStream(content));
+
+        // Assert
+        assertEquals(key, secondKey);
+        assertTrue(store.exists(key));
+        assertTrue(store.compressedSize(key) < content.length / 10);
+        try (InputStream in = store.openInflated(key)) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldSpillOnlyLargeResults() throws Exception {
+        // Arrange
+        ResultBlobStore store = new ResultBlobStore(storeDirectory.toString());
+        TaskResultSpillListener.configure(store, 100, 10);
+        TaskResultSpillListener listener = new TaskResultSpillListener();
+        TaskResult small = new TaskResult("Small", "short", LocalDateTime.now());
+        String largeContent = "x".repeat(1000);
+        TaskResult large = new TaskResult("Large", largeContent, LocalDateTime.now());
+
+        // Act
+        listener.spillIfLarge(small);
+        listener.spillIfLarge(large);
+
+        // Assert
+        assertFalse(small.isExternal());
+        assertEquals("short", small.getContent());
+        assertEquals(5L, small.getContentLength());
+
+        assertTrue(large.isExternal());
+        assertEquals(10, large.getContent().length());
+        assertEquals(1000L, large.getContentLength());
+        try (InputStream in = store.openInflated(large.getBlobKey())) {
+            assertEquals(largeContent, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldCompareThresholdInUtf8Bytes() throws Exception {
+        // Arrange
+        ResultBlobStore store = new ResultBlobStore(storeDirectory.toString());
+        TaskResultSpillListener.configure(store, 100, 10);
+        TaskResultSpillListener listener = new TaskResultSpillListener();
+        // 60 characters, but 120 bytes in UTF-8
+        String content = "\u00e4".repeat(60);
+        TaskResult result = new TaskResult("Umlauts", content, LocalDateTime.now());
+
+        // Act
+        listener.spillIfLarge(result);
+
+        // Assert
+        assertTrue(result.isExternal());
+        assertEquals(120L, result.getContentLength());
+        assertEquals(content.substring(0, 10), result.getContent());
+    }
+
+    @Test
+    void shouldRefreshReusedBlobs() throws Exception {
+        // Arrange
+        ResultBlobStore store = new ResultBlobStore(storeDirectory.toString());
+        byte[] content = "report".getBytes(StandardCharsets.UTF_8);
+        String key = store.put(new ByteArrayInputStream(content));
+        Instant cutoff = Instant.now();
+        setAge(key, Duration.ofHours(2));
+        assertEquals(List.of(key), store.findKeysOlderThan(cutoff));
+
+        // Act
+        store.put(new ByteArrayInputStream(content));
+
+        // Assert
+        assertTrue(store.findKeysOlderThan(cutoff).isEmpty());
+        assertFalse(store.deleteIfOlderThan(key, cutoff));
+        assertTrue(store.exists(key));
+    }
+
+    private void setAge(String key, Duration age) throws Exception {
+        Path blob = storeDirectory.resolve(key.substring(0, 2)).resolve(key + ".deflate");
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(age)));
+    }
+}
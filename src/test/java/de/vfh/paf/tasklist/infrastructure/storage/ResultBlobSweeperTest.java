@@ -0,0 +1,61 @@
+package de.vfh.paf.tasklist.infrastructure.storage;
+
+import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResultBlobSweeperTest {
+
+    @TempDir
+    Path storeDirectory;
+
+    @Test
+    void shouldDeleteOnlyOldUnreferencedBlobs() throws Exception {
+        // Arrange
+        Instant now = Instant.now();
+        ResultBlobStore store = new ResultBlobStore(storeDirectory.toString());
+        String referenced = put(store, "referenced", now.minus(Duration.ofHours(2)));
+        String orphaned = put(store, "orphaned", now.minus(Duration.ofHours(2)));
+        String recent = put(store, "recent", now.minus(Duration.ofMinutes(5)));
+        Path staleUpload = Files.createTempFile(storeDirectory, "upload-", ".tmp");
+        Files.setLastModifiedTime(staleUpload, FileTime.from(now.minus(Duration.ofHours(2))));
+
+        TaskResultRepository taskResultRepository = mock(TaskResultRepository.class);
+        when(taskResultRepository.findReferencedBlobKeys(anyCollection())).thenReturn(List.of(referenced));
+        ResultBlobSweeper sweeper = new ResultBlobSweeper(store, taskResultRepository, Duration.ofHours(1),
+                Clock.fixed(now, ZoneOffset.UTC));
+
+        // Act
+        int deleted = sweeper.sweep();
+
+        // Assert
+        assertEquals(1, deleted);
+        assertTrue(store.exists(referenced));
+        assertFalse(store.exists(orphaned));
+        assertTrue(store.exists(recent));
+        assertFalse(Files.exists(staleUpload));
+    }
+
+    private String put(ResultBlobStore store, String content, Instant modified) throws Exception {
+        String key = store.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        Path blob = storeDirectory.resolve(key.substring(0, 2)).resolve(key + ".deflate");
+        Files.setLastModifiedTime(blob, FileTime.from(modified));
+        return key;
+    }
+}
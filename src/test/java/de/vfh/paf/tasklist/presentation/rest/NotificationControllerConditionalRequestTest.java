@@ -0,0 +1,132 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import de.vfh.paf.tasklist.domain.service.NotificationRetentionService;
+import de.vfh.paf.tasklist.domain.service.NotificationService;
+import de.vfh.paf.tasklist.domain.service.UnreadCounterService;
+import de.vfh.paf.tasklist.infrastructure.persistence.CacheInvalidationBus;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.presentation.websocket.NotificationDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that the notification ETag of a user changes on writes that bypass JPA entity events:
+ * JDBC inserts and bulk updates. Runs without a test transaction, because versions only change
+ * when a transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({NotificationService.class, ResourceVersions.class, CacheInvalidationBus.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationControllerConditionalRequestTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @MockBean
+    private NotificationDispatcher notificationDispatcher;
+
+    @MockBean
+    private UnreadCounterService unreadCounterService;
+
+    private NotificationController controller;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        controller = new NotificationController(notificationService, new ObjectMapper(), notificationDispatcher,
+                unreadCounterService, mock(NotificationRetentionService.class), resourceVersions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    void shouldChangeEtagOnInsertedNotification() {
+        // Arrange
+        String etag = etagOf(100);
+        String otherUsersEtag = etagOf(200);
+
+        // Act
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Message", 1);
+        ResponseEntity<List<NotificationDTO>> response = controller.getNotificationsByUser(100, null, null, null, etag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertEquals(1, response.getBody().size());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                controller.getNotificationsByUser(200, null, null, null, otherUsersEtag).getStatusCode());
+    }
+
+    @Test
+    void shouldChangeEtagOnBulkMarkReadAndArchive() {
+        // Arrange
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Message 1", 1);
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Message 2", 2);
+        Integer firstId = notificationRepository.findByUserId(100).getFirst().getId();
+
+        // Act
+        String beforeMarkRead = etagOf(100);
+        notificationService.markAsRead(100, List.of(firstId));
+        String beforeMarkAllRead = etagOf(100);
+        notificationService.markAllAsRead(100);
+        String beforeArchive = etagOf(100);
+        notificationService.archiveRead(100, LocalDateTime.now().plusMinutes(1));
+        String afterArchive = etagOf(100);
+
+        // Assert
+        assertNotEquals(beforeMarkRead, beforeMarkAllRead);
+        assertNotEquals(beforeMarkAllRead, beforeArchive);
+        assertNotEquals(beforeArchive, afterArchive);
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                controller.getNotificationsByUser(100, null, null, null, afterArchive).getStatusCode());
+    }
+
+    @Test
+    void shouldKeepEtagWhenBulkUpdateChangesNothing() {
+        // Arrange
+        String etag = etagOf(100);
+
+        // Act
+        int updated = notificationService.markAllAsRead(100);
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                controller.getNotificationsByUser(100, null, null, null, etag).getStatusCode());
+    }
+
+    private String etagOf(int userId) {
+        String etag = controller.getNotificationsByUser(userId, null, null, null, null).getHeaders().getETag();
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,129 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.vfh.paf.tasklist.application.dto.TaskDTO;
+import de.vfh.paf.tasklist.application.service.TaskManagerService;
+import de.vfh.paf.tasklist.domain.model.Task;
+import de.vfh.paf.tasklist.domain.repository.TaskRepository;
+import de.vfh.paf.tasklist.domain.repository.TaskResultRepository;
+import de.vfh.paf.tasklist.domain.service.TaskFactory;
+import de.vfh.paf.tasklist.domain.service.TaskProcessorService;
+import de.vfh.paf.tasklist.domain.service.TaskService;
+import de.vfh.paf.tasklist.infrastructure.persistence.CacheInvalidationBus;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.infrastructure.persistence.SecondLevelCache;
+import de.vfh.paf.tasklist.presentation.sse.TaskProgressStreams;
+import de.vfh.paf.tasklist.presentation.websocket.OutboundBufferRegistry;
+import de.vfh.paf.tasklist.presentation.websocket.TaskUpdatePublisher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that polling unchanged tasks is answered with 304 without touching the database.
+ * Runs without a test transaction, because versions only change when a transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({TaskService.class, ResourceVersions.class, CacheInvalidationBus.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskControllerConditionalRequestTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskResultRepository taskResultRepository;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TaskController controller;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        deleteAll();
+        controller = new TaskController(taskService, mock(TaskManagerService.class), mock(TaskFactory.class),
+                mock(TaskProcessorService.class), new ObjectMapper(), mock(TaskUpdatePublisher.class),
+                mock(OutboundBufferRegistry.class), mock(TaskProgressStreams.class), mock(SecondLevelCache.class),
+                resourceVersions);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+    }
+
+    @Test
+    void shouldAnswerUnchangedTasksWithNotModifiedWithoutQueries() {
+        // Arrange
+        createTask("Task 1");
+        createTask("Task 2");
+        ResponseEntity<List<TaskDTO>> first = controller.getAllTasks(null, null, null, null, null);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+
+        // Act
+        statistics.clear();
+        ResponseEntity<List<TaskDTO>> second = controller.getAllTasks(null, null, null, null, etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void shouldReturnTasksAgainAfterChange() {
+        // Arrange
+        Task task = createTask("Original Task");
+        String etag = controller.getTask(task.getId(), null).getHeaders().getETag();
+
+        // Act
+        taskService.updateTask(task.getId(), "Updated Task", "Updated description", task.getDueDate());
+        ResponseEntity<TaskDTO> response = controller.getTask(task.getId(), etag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertEquals("Updated Task", response.getBody().getTitle());
+    }
+
+    private Task createTask(String title) {
+        return taskService.createRunnableTask(title, "Description", LocalDateTime.now().plusDays(1), 100,
+                "de.vfh.paf.tasklist.domain.tasks.CalculatePiTask");
+    }
+
+    private void deleteAll() {
+        taskResultRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+}
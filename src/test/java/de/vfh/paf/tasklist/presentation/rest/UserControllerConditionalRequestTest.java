@@ -0,0 +1,121 @@
+package de.vfh.paf.tasklist.presentation.rest;
+
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import de.vfh.paf.tasklist.domain.model.User;
+import de.vfh.paf.tasklist.domain.repository.NotificationRepository;
+import de.vfh.paf.tasklist.domain.service.NotificationService;
+import de.vfh.paf.tasklist.domain.service.TaskService;
+import de.vfh.paf.tasklist.domain.service.UnreadCounterService;
+import de.vfh.paf.tasklist.domain.service.UserService;
+import de.vfh.paf.tasklist.infrastructure.persistence.CacheInvalidationBus;
+import de.vfh.paf.tasklist.infrastructure.persistence.ResourceVersions;
+import de.vfh.paf.tasklist.presentation.websocket.NotificationDispatcher;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that polling the unchanged notifications of a user through {@code /users/{id}/notifications}
+ * is answered with 304 without looking up the user or querying notifications.
+ * Runs without a test transaction, because versions only change when a transaction commits.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({NotificationService.class, ResourceVersions.class, CacheInvalidationBus.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserControllerConditionalRequestTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private NotificationDispatcher notificationDispatcher;
+
+    @MockBean
+    private UnreadCounterService unreadCounterService;
+
+    private UserService userService;
+    private UserController controller;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        userService = mock(UserService.class);
+        when(userService.findById(100)).thenReturn(Optional.of(new User(100, "Test User", "test@example.com")));
+        controller = new UserController(userService, mock(TaskService.class), notificationService, resourceVersions);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAnswerUnchangedNotificationsWithNotModifiedWithoutQueries() {
+        // Arrange
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Message", 1);
+        ResponseEntity<List<NotificationDTO>> first = controller.getUserNotifications(100, null, null);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+
+        // Act
+        statistics.clear();
+        ResponseEntity<List<NotificationDTO>> second = controller.getUserNotifications(100, null, etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(etag, second.getHeaders().getETag());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        verify(userService, times(1)).findById(100);
+    }
+
+    @Test
+    void shouldReturnNotificationsAgainAfterChange() {
+        // Arrange
+        String etag = controller.getUserNotifications(100, null, null).getHeaders().getETag();
+
+        // Act
+        notificationService.sendNotification("INFO", "NORMAL", 100, "Message", 1);
+        ResponseEntity<List<NotificationDTO>> response = controller.getUserNotifications(100, null, etag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertEquals(1, response.getBody().size());
+    }
+}
@@ -0,0 +1,238 @@
+package de.vfh.paf.tasklist.presentation.sse;
+
+import de.vfh.paf.tasklist.application.dto.TaskProgressDTO;
+import de.vfh.paf.tasklist.domain.events.TaskProgressEvent;
+import de.vfh.paf.tasklist.domain.tasks.CalculatePiTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskProgressStreamsTest {
+
+    private static final int TASK_ID = 42;
+    private static final long INTERVAL_MILLIS = 100;
+
+    private TaskProgressStreams streams;
+
+    @AfterEach
+    void tearDown() {
+        if (streams != null) {
+            streams.shutdown();
+        }
+    }
+
+    @Test
+    void shouldConflateUpdatesToLatestPerInterval() throws InterruptedException {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+        await(() -> emitter.progress.size() == 1);
+
+        // Act
+        for (int iteration = 10; iteration <= 50; iteration += 10) {
+            streams.onProgress(new TaskProgressEvent(TASK_ID, progressData(iteration), false));
+        }
+        Thread.sleep(3 * INTERVAL_MILLIS);
+
+        // Assert
+        assertEquals(2, emitter.progress.size());
+        assertEquals(50, emitter.progress.get(1).getProgressPercentage());
+        assertFalse(emitter.completed);
+        assertEquals(1, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldSendHeartbeatsOnIdleStreams() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 1);
+
+        // Act
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+
+        // Assert
+        await(() -> emitter.heartbeats.get() > 0);
+        assertEquals(1, emitter.progress.size());
+        assertFalse(emitter.completed);
+    }
+
+    @Test
+    void shouldCompleteStreamWhenTaskIsDone() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+
+        // Act
+        streams.onStatusChange(TASK_ID, "DONE");
+
+        // Assert
+        await(() -> emitter.completed);
+        assertEquals("DONE", emitter.progress.get(emitter.progress.size() - 1).getStatus());
+        assertEquals(0, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldCompleteStreamOfFinishedTaskRightAway() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+
+        // Act
+        RecordingEmitter emitter = open(progress("DONE"), "DONE");
+
+        // Assert
+        await(() -> emitter.completed);
+        assertEquals(1, emitter.progress.size());
+        assertEquals(0, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldCompleteStreamOfTaskFinishedWhileOpening() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+
+        // Act: the task was RUNNING when loaded, but is DONE by the time the stream is registered
+        RecordingEmitter emitter = open(progress("RUNNING"), "DONE");
+
+        // Assert
+        await(() -> emitter.completed);
+        assertEquals("DONE", emitter.progress.get(emitter.progress.size() - 1).getStatus());
+        assertEquals(0, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldRemoveStreamOnTimeout() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+
+        // Act
+        emitter.timeoutCallback.run();
+
+        // Assert
+        assertEquals(0, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldRemoveStreamOnError() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+
+        // Act
+        emitter.errorCallback.accept(new IOException("Broken pipe"));
+
+        // Assert
+        assertEquals(0, streams.getOpenStreams());
+    }
+
+    @Test
+    void shouldRemoveStreamWhenSendFails() {
+        // Arrange
+        streams = createStreams(INTERVAL_MILLIS, 60);
+        RecordingEmitter emitter = open(progress("RUNNING"), "RUNNING");
+        await(() -> emitter.progress.size() == 1);
+        emitter.failing = true;
+
+        // Act
+        streams.onProgress(new TaskProgressEvent(TASK_ID, progressData(10), false));
+
+        // Assert
+        await(() -> streams.getOpenStreams() == 0);
+    }
+
+    private TaskProgressStreams createStreams(long intervalMillis, long heartbeatSeconds) {
+        return new TaskProgressStreams(intervalMillis, heartbeatSeconds, 30) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new RecordingEmitter(timeoutMillis);
+            }
+        };
+    }
+
+    private RecordingEmitter open(TaskProgressDTO initial, String currentStatus) {
+        return (RecordingEmitter) streams.open(initial, () -> currentStatus);
+    }
+
+    private static TaskProgressDTO progress(String status) {
+        TaskProgressDTO progress = new TaskProgressDTO();
+        progress.setTaskId(TASK_ID);
+        progress.setTitle("Calculate Pi");
+        progress.setStatus(status);
+        return progress;
+    }
+
+    private static CalculatePiTask.ProgressData progressData(int iteration) {
+        CalculatePiTask.ProgressData progressData = new CalculatePiTask.ProgressData(100);
+        progressData.setCurrentIteration(iteration);
+        return progressData;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met in time");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    /**
+     * Records what is sent instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<TaskProgressDTO> progress = new CopyOnWriteArrayList<>();
+        private final AtomicInteger heartbeats = new AtomicInteger();
+        private volatile boolean completed;
+        private volatile boolean failing;
+        private Runnable timeoutCallback;
+        private Consumer<Throwable> errorCallback;
+
+        RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            boolean data = false;
+            for (DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof TaskProgressDTO dto) {
+                    progress.add(dto);
+                    data = true;
+                }
+            }
+            if (!data) {
+                heartbeats.incrementAndGet();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        @Override
+        public synchronized void onTimeout(Runnable callback) {
+            timeoutCallback = callback;
+        }
+
+        @Override
+        public synchronized void onError(Consumer<Throwable> callback) {
+            errorCallback = callback;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BufferedSessionDecoratorTest {
+
+    private static final int FRAME_SIZE = 100;
+
+    private WebSocketSession session;
+    private List<Runnable> drainTasks;
+    private BufferedSessionDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        // Drain tasks only run when the test says so, which simulates a client that does not read
+        drainTasks = new ArrayList<>();
+        decorator = new BufferedSessionDecorator(session, drainTasks::add, 10_000, 3 * FRAME_SIZE);
+    }
+
+    @Test
+    void shouldDropOldestProgressFramesWhenFull() throws IOException {
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            decorator.sendMessage(frame("/topic/tasks/progress", null, "p" + i));
+        }
+
+        // Assert
+        assertEquals(2, decorator.getStats().dropped());
+        assertEquals(1, drainTasks.size());
+        assertEquals(List.of("p3", "p4", "p5"), drain());
+    }
+
+    @Test
+    void shouldCoalesceStatesOfTheSameTask() throws IOException {
+        // Act
+        decorator.sendMessage(frame("/topic/tasks/status", "task-1", "RUNNING"));
+        decorator.sendMessage(frame("/topic/tasks/status", "task-2", "RUNNING"));
+        decorator.sendMessage(frame("/topic/tasks/status", "task-1", "DONE"));
+
+        // Assert
+        assertEquals(1, decorator.getStats().coalesced());
+        assertEquals(List.of("DONE", "RUNNING"), drain());
+    }
+
+    @Test
+    void shouldCloseSessionInsteadOfDroppingNotifications() throws IOException {
+        // Arrange
+        decorator.sendMessage(frame("/topic/tasks/progress", null, "p1"));
+        for (int i = 1; i <= 3; i++) {
+            decorator.sendMessage(frame("/user/queue/notifications", null, "n" + i));
+        }
+        assertEquals(1, decorator.getStats().dropped());
+
+        // Act & Assert
+        assertThrows(SessionLimitExceededException.class,
+                () -> decorator.sendMessage(frame("/user/queue/notifications", null, "n4")));
+        assertEquals(0, decorator.getStats().bufferedFrames());
+    }
+
+    @Test
+    void shouldClassifyProgressOfSingleTasksLikeAllProgress() {
+        assertEquals(BufferedSessionDecorator.FrameClass.DROP_OLDEST,
+                BufferedSessionDecorator.classify("/topic/tasks/42/progress", null));
+        assertEquals(BufferedSessionDecorator.FrameClass.DROP_OLDEST,
+                BufferedSessionDecorator.classify("/topic/tasks/42/progress.cbor", null));
+        assertEquals(BufferedSessionDecorator.FrameClass.RELIABLE,
+                BufferedSessionDecorator.classify("/topic/tasks/42/result", null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> drain() throws IOException {
+        drainTasks.forEach(Runnable::run);
+        assertEquals(0, decorator.getStats().bufferedFrames());
+        ArgumentCaptor<WebSocketMessage<?>> captor =
+                ArgumentCaptor.forClass((Class<WebSocketMessage<?>>) (Class<?>) WebSocketMessage.class);
+        verify(session, times((int) decorator.getStats().sent())).sendMessage(captor.capture());
+        return captor.getAllValues().stream()
+                .map(message -> ((TextMessage) message).getPayload())
+                .map(payload -> payload.substring(payload.indexOf("\n\n") + 2).strip())
+                .toList();
+    }
+
+    /**
+     * Builds a STOMP MESSAGE frame padded to {@value #FRAME_SIZE} bytes.
+     */
+    private static TextMessage frame(String destination, String coalesceKey, String body) {
+        StringBuilder frame = new StringBuilder("MESSAGE\ndestination:").append(destination).append('\n');
+        if (coalesceKey != null) {
+            frame.append(BufferedSessionDecorator.COALESCE_KEY_HEADER).append(':').append(coalesceKey).append('\n');
+        }
+        frame.append('\n').append(body);
+        while (frame.length() < FRAME_SIZE) {
+            frame.append(' ');
+        }
+        return new TextMessage(frame.toString());
+    }
+}
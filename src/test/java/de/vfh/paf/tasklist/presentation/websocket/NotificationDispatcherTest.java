@@ -0,0 +1,92 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.vfh.paf.tasklist.application.dto.NotificationDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NotificationDispatcherTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        // Long window so that only the explicit flush sends anything
+        dispatcher = new NotificationDispatcher(messagingTemplate,
+                new DefaultListableBeanFactory().getBeanProvider(ObjectMapper.class), 60_000, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldSendOneArrayPerDestination() throws IOException {
+        // Arrange
+        dispatcher.dispatch(List.of(notification(1, 100), notification(2, 200)));
+        dispatcher.dispatch(List.of(notification(3, 100)));
+        dispatcher.dispatchSystem(notification(4, 0));
+
+        // Act
+        dispatcher.flush();
+
+        // Assert
+        JsonNode topic = sentPayload("/topic/notifications");
+        assertEquals(3, topic.size());
+        assertEquals(1, topic.get(0).get("id").asInt());
+        assertEquals(3, topic.get(2).get("id").asInt());
+        assertEquals(2, sentPayload("/user/100/queue/notifications").size());
+        assertEquals(1, sentPayload("/user/200/queue/notifications").size());
+        assertEquals(4, sentPayload("/topic/system").get(0).get("id").asInt());
+
+        NotificationDispatcher.Stats stats = dispatcher.getStats();
+        assertEquals(4, stats.frames());
+        assertEquals(7, stats.notifications());
+        assertEquals(3, stats.largestBatch());
+    }
+
+    @Test
+    void shouldNotSendWhenNothingIsBuffered() {
+        // Act
+        dispatcher.flush();
+
+        // Assert
+        verify(messagingTemplate, times(0)).send(any(String.class), any());
+        assertEquals(0, dispatcher.getStats().frames());
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonNode sentPayload(String destination) throws IOException {
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass((Class<Message<?>>) (Class<?>) Message.class);
+        verify(messagingTemplate).send(eq(destination), captor.capture());
+        return new ObjectMapper().readTree((byte[]) captor.getValue().getPayload());
+    }
+
+    private static NotificationDTO notification(int id, int userId) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(id);
+        dto.setUserId(userId);
+        dto.setMessage("Notification " + id);
+        dto.setType("INFO");
+        return dto;
+    }
+}
@@ -0,0 +1,198 @@
+package de.vfh.paf.tasklist.presentation.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TaskUpdatePublisherTest {
+
+    private static final List<String> DESTINATIONS = List.of("/topic/tasks/status", "/topic/tasks/1/status", "/user/100/tasks");
+
+    private SimpMessagingTemplate messagingTemplate;
+    private TaskUpdatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        // Long window so that only the explicit flush sends anything
+        publisher = new TaskUpdatePublisher(messagingTemplate,
+                new DefaultListableBeanFactory().getBeanProvider(ObjectMapper.class),
+                new BinarySubscriptionInterceptor("simple"), 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    void shouldSerializeOnceForAllDestinations() {
+        // Act
+        publisher.publish(Map.of("taskId", 1), DESTINATIONS);
+
+        // Assert
+        List<Message<?>> messages = sentMessages(3);
+        assertSame(messages.get(0).getPayload(), messages.get(1).getPayload());
+        assertSame(messages.get(0).getPayload(), messages.get(2).getPayload());
+    }
+
+    @Test
+    void shouldConflateStatesOfTheSameTask() throws IOException {
+        // Arrange
+        publisher.publishTaskState(1, Map.of("id", 1, "status", "RUNNING"), DESTINATIONS);
+        publisher.publishTaskState(1, Map.of("id", 1, "status", "DONE"), DESTINATIONS);
+        verify(messagingTemplate, never()).send(anyString(), any());
+
+        // Act
+        publisher.flush();
+
+        // Assert
+        List<Message<?>> messages = sentMessages(3);
+        Map<?, ?> state = new ObjectMapper().readValue((byte[]) messages.getFirst().getPayload(), Map.class);
+        assertEquals("DONE", state.get("status"));
+        assertEquals(1, publisher.getStats().published());
+        assertEquals(1, publisher.getStats().conflated());
+    }
+
+    @Test
+    void shouldSendCborOnlyToBinarySubscriptions() throws IOException {
+        // Arrange
+        BinarySubscriptionInterceptor binarySubscriptions = new BinarySubscriptionInterceptor("simple");
+        binarySubscriptions.preSend(subscribe("s1", "sub-0", "/topic/tasks/1/status", "application/cbor"), null);
+        publisher.shutdown();
+        publisher = new TaskUpdatePublisher(messagingTemplate,
+                new DefaultListableBeanFactory().getBeanProvider(ObjectMapper.class), binarySubscriptions, 60_000);
+        Map<String, Object> progress = Map.of("taskId", 1, "status", "RUNNING", "progress", 42,
+                "updatedAt", "2024-05-01T12:00:00.123456");
+
+        // Act
+        publisher.publish(progress, DESTINATIONS);
+
+        // Assert
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        List<Message<?>> messages = sentMessages(4, destinations);
+        assertEquals("/topic/tasks/1/status.cbor", destinations.getAllValues().get(2));
+        Message<?> binary = messages.get(2);
+        assertEquals(BinarySubscriptionInterceptor.CBOR, binary.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertEquals(progress, new ObjectMapper(new CBORFactory()).readValue((byte[]) binary.getPayload(), Map.class));
+        TaskUpdatePublisher.Stats stats = publisher.getStats();
+        assertEquals(3, stats.jsonFrames());
+        assertEquals(1, stats.binaryFrames());
+        assertTrue(stats.binaryBytesPerFrame() < stats.jsonBytesPerFrame());
+    }
+
+    @Test
+    void shouldSendCborToUserDestinationsSubscribedWithoutUser() throws IOException {
+        // Arrange
+        BinarySubscriptionInterceptor binarySubscriptions = new BinarySubscriptionInterceptor("simple");
+        Message<?> subscription = binarySubscriptions.preSend(
+                subscribe("s1", "sub-0", "/user/tasks", "application/cbor"), null);
+        assertEquals("/user/tasks.cbor", SimpMessageHeaderAccessor.getDestination(subscription.getHeaders()));
+        publisher.shutdown();
+        publisher = new TaskUpdatePublisher(messagingTemplate,
+                new DefaultListableBeanFactory().getBeanProvider(ObjectMapper.class), binarySubscriptions, 60_000);
+        Map<String, Object> state = Map.of("id", 1, "status", "DONE");
+
+        // Act
+        publisher.publish(state, DESTINATIONS);
+
+        // Assert
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        List<Message<?>> messages = sentMessages(4, destinations);
+        assertEquals("/user/100/tasks.cbor", destinations.getAllValues().get(3));
+        Message<?> binary = messages.get(3);
+        assertEquals(BinarySubscriptionInterceptor.CBOR, binary.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertEquals(state, new ObjectMapper(new CBORFactory()).readValue((byte[]) binary.getPayload(), Map.class));
+    }
+
+    @Test
+    void shouldCountUserDestinationsSubscribedWithAndWithoutUserAlike() {
+        // Arrange
+        BinarySubscriptionInterceptor binarySubscriptions = new BinarySubscriptionInterceptor("simple");
+
+        // Act
+        binarySubscriptions.preSend(subscribe("s1", "sub-0", "/user/100/tasks", "application/cbor"), null);
+
+        // Assert
+        assertTrue(binarySubscriptions.hasBinarySubscribers("/user/100/tasks"));
+        assertTrue(binarySubscriptions.hasBinarySubscribers("/user/200/tasks"));
+        assertFalse(binarySubscriptions.hasBinarySubscribers("/user/100/task-results"));
+    }
+
+    @Test
+    void shouldCountBinarySubscriptionsOfUserTopicsPerUser() {
+        // Arrange
+        BinarySubscriptionInterceptor binarySubscriptions = new BinarySubscriptionInterceptor("simple");
+
+        // Act
+        binarySubscriptions.preSend(subscribe("s1", "sub-0", "/topic/users/100/tasks/status", "application/cbor"), null);
+
+        // Assert
+        assertTrue(binarySubscriptions.hasBinarySubscribers("/topic/users/100/tasks/status"));
+        assertFalse(binarySubscriptions.hasBinarySubscribers("/topic/users/200/tasks/status"));
+    }
+
+    @Test
+    void shouldStopBinaryFramesAfterUnsubscribe() {
+        // Arrange
+        BinarySubscriptionInterceptor binarySubscriptions = new BinarySubscriptionInterceptor("simple");
+        binarySubscriptions.preSend(subscribe("s1", "sub-0", "/topic/tasks/1/status", "application/cbor"), null);
+        binarySubscriptions.preSend(subscribe("s2", "sub-0", "/topic/tasks/1/status", "application/json"), null);
+        assertTrue(binarySubscriptions.hasBinarySubscribers("/topic/tasks/1/status"));
+
+        // Act
+        StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        disconnect.setSessionId("s1");
+        binarySubscriptions.preSend(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()), null);
+
+        // Assert
+        assertFalse(binarySubscriptions.hasBinarySubscribers("/topic/tasks/1/status"));
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination, String accept) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setNativeHeader(BinarySubscriptionInterceptor.ACCEPT_HEADER, accept);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private List<Message<?>> sentMessages(int count) {
+        return sentMessages(count, ArgumentCaptor.forClass(String.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<?>> sentMessages(int count, ArgumentCaptor<String> destinations) {
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass((Class<Message<?>>) (Class<?>) Message.class);
+        verify(messagingTemplate, times(count)).send(destinations.capture(), captor.capture());
+        return captor.getAllValues();
+    }
+}